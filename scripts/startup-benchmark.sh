@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compara o tempo até o primeiro login bem-sucedido da imagem padrão (Dockerfile) com a
+# imagem fast-startup (Dockerfile.fast-startup: AOT + AppCDS).
+#
+# Uso: scripts/startup-benchmark.sh [execuções por imagem]   (padrão: 5)
+# Requer docker e curl. Resultado em target/startup-benchmark.csv (imagem,execucao,ms).
+set -euo pipefail
+
+RUNS="${1:-5}"
+NETWORK=startup-bench
+DB=startup-bench-db
+APP=startup-bench-app
+PORT=18080
+EMAIL=startup@bench.com
+PASSWORD='Senha@123'
+OUT=target/startup-benchmark.csv
+
+cd "$(dirname "$0")/.."
+
+cleanup() {
+  docker rm -f "$APP" "$DB" > /dev/null 2>&1 || true
+  docker network rm "$NETWORK" > /dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker build -q -t e-commerce:default -f Dockerfile . > /dev/null
+docker build -q -t e-commerce:fast-startup -f Dockerfile.fast-startup . > /dev/null
+
+cleanup
+docker network create "$NETWORK" > /dev/null
+docker run -d --name "$DB" --network "$NETWORK" \
+  -e POSTGRES_DB=ecommerce -e POSTGRES_USER=ecommerce -e POSTGRES_PASSWORD=ecommerce \
+  postgres:16-alpine > /dev/null
+until docker exec "$DB" pg_isready -U ecommerce > /dev/null 2>&1; do sleep 0.5; done
+
+start_app() {
+  docker run -d --name "$APP" --network "$NETWORK" -p "$PORT:8080" \
+    -e DATABASE_URL="jdbc:postgresql://$DB:5432/ecommerce" \
+    -e DATABASE_USERNAME=ecommerce -e DATABASE_PASSWORD=ecommerce \
+    "$1" > /dev/null
+}
+
+login_status() {
+  curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" \
+    "http://localhost:$PORT/api/auth/login" || true
+}
+
+# Primeira subida com a imagem padrão: o Flyway aplica as migrations (o Hibernate só valida,
+# ddl-auto=validate) e o usuário do teste é criado, então as execuções medidas não incluem migrations
+start_app e-commerce:default
+until curl -s -o /dev/null "http://localhost:$PORT/actuator/health"; do sleep 0.5; done
+curl -s -o /dev/null -H 'Content-Type: application/json' \
+  -d "{\"name\":\"Startup Bench\",\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" \
+  "http://localhost:$PORT/api/auth/register"
+docker rm -f "$APP" > /dev/null
+
+mkdir -p target
+echo "imagem,execucao,ms" > "$OUT"
+for run in $(seq 1 "$RUNS"); do
+  # Alterna as imagens para que as duas sofram igualmente com ruído da máquina
+  for image in e-commerce:default e-commerce:fast-startup; do
+    begin=$(date +%s%N)
+    start_app "$image"
+    until [ "$(login_status)" = "200" ]; do sleep 0.05; done
+    elapsed=$(( ($(date +%s%N) - begin) / 1000000 ))
+    docker rm -f "$APP" > /dev/null
+    echo "$image,$run,$elapsed" >> "$OUT"
+    echo "$image execução $run: ${elapsed} ms até o primeiro login"
+  done
+done
+
+echo
+echo "Mediana (ms):"
+for image in e-commerce:default e-commerce:fast-startup; do
+  median=$(grep "^$image," "$OUT" | cut -d, -f3 | sort -n | awk '{v[NR]=$1} END {print (NR % 2) ? v[(NR+1)/2] : int((v[NR/2] + v[NR/2+1]) / 2)}')
+  echo "  $image: $median"
+done
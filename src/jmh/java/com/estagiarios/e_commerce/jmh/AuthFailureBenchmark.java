@@ -0,0 +1,65 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.dto.ApiResponse;
+import com.estagiarios.e_commerce.exception.StacklessBadCredentialsException;
+import com.estagiarios.e_commerce.util.ApiResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de uma falha de login fora o BCrypt: criar a exceção de senha incorreta (a partir de
+ * uma pilha com {@code depth} frames, como dentro da cadeia de filtros) e montar o corpo 401.
+ * {@code legacy} usa BadCredentialsException e serializa um ApiResponse novo;
+ * {@code stackless} usa a exceção sem stack trace e o corpo pré-serializado.
+ * Rode com {@code -Djmh.args="-f 1 -prof gc"} para ver gc.alloc.rate.norm (bytes por falha).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthFailureBenchmark {
+
+    private static final String MENSAGEM = "Email ou senha inválidos";
+
+    @Param({"legacy", "stackless"})
+    public String path;
+
+    @Param({"20", "120"})
+    public int depth;
+
+    private ObjectMapper objectMapper;
+    private ApiResponseCache cache;
+    private boolean legacy;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        cache = new ApiResponseCache(objectMapper);
+        legacy = "legacy".equals(path);
+    }
+
+    @Benchmark
+    public byte[] failedLogin() throws Exception {
+        try {
+            throwAt(depth);
+            return null;
+        } catch (BadCredentialsException e) {
+            return legacy
+                    ? objectMapper.writeValueAsBytes(new ApiResponse(false, MENSAGEM))
+                    : cache.json(false, MENSAGEM);
+        }
+    }
+
+    private void throwAt(int remaining) {
+        if (remaining > 0) {
+            throwAt(remaining - 1);
+            return;
+        }
+        throw legacy
+                ? new BadCredentialsException("Bad credentials")
+                : new StacklessBadCredentialsException("Bad credentials");
+    }
+}
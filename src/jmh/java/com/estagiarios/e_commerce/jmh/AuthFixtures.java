@@ -0,0 +1,55 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.repository.CredenciaisUsuario;
+import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Objetos montados sem contexto Spring para os microbenchmarks
+ */
+final class AuthFixtures {
+
+    static final String SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234567890";
+    static final long USER_ID = 42L;
+
+    private AuthFixtures() {
+    }
+
+    static AuthMetrics metrics() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    static JwtTokenProvider tokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider(metrics());
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 900_000);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario("Usuario Benchmark", "bench@teste.com", "$2a$10$hash");
+        usuario.setId(USER_ID);
+        usuario.setRoles(Set.of(Role.USER, Role.MODERATOR));
+        return usuario;
+    }
+
+    static List<CredenciaisUsuario> credenciais() {
+        Usuario usuario = usuario();
+        return usuario.getRoles().stream()
+                .map(role -> new CredenciaisUsuario(USER_ID, usuario.getEmail(), usuario.getSenha(), 0, role))
+                .toList();
+    }
+
+    static UserPrincipal principal() {
+        return UserPrincipal.create(usuario());
+    }
+}
@@ -0,0 +1,29 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento das roles do principal para {@link GrantedAuthority}, feito a cada requisição autenticada
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthoritiesBenchmark {
+
+    private UserPrincipal principal;
+
+    @Setup
+    public void setup() {
+        principal = AuthFixtures.principal();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return principal.getAuthorities();
+    }
+}
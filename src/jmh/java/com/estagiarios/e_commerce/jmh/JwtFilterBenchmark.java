@@ -0,0 +1,73 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.datasource.ReadYourWritesTracker;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.security.*;
+import com.estagiarios.e_commerce.service.EmailMembershipFilter;
+import com.estagiarios.e_commerce.service.RefreshTokenService;
+import com.estagiarios.e_commerce.service.UsuarioService;
+import jakarta.servlet.ServletException;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma passada completa do {@link JwtAuthenticationFilter} com o repositório mockado.
+ * {@code cached} mede o caminho comum (token e principal em cache); {@code cold} invalida
+ * os dois caches antes de cada chamada, pagando parse, HMAC e a busca do usuário.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private VerifiedTokenCache tokenCache;
+    private UserPrincipalCache principalCache;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider tokenProvider = AuthFixtures.tokenProvider();
+        UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+        Mockito.when(repository.findCredenciaisById(AuthFixtures.USER_ID)).thenReturn(AuthFixtures.credenciais());
+
+        tokenCache = new VerifiedTokenCache(tokenProvider, 10_000);
+        principalCache = new UserPrincipalCache(10_000, 300_000);
+        UsuarioService usuarioService = new UsuarioService(repository, Mockito.mock(PasswordEncoder.class), principalCache,
+                Mockito.mock(PasswordHashingExecutor.class), Mockito.mock(EmailMembershipFilter.class),
+                Mockito.mock(RefreshTokenService.class), new ReadYourWritesTracker(false, 0));
+        filter = new JwtAuthenticationFilter(tokenCache, new TokenDenylist(300, 900_000), usuarioService,
+                AuthFixtures.metrics());
+        token = tokenProvider.generateToken(AuthFixtures.principal());
+    }
+
+    @Benchmark
+    public Authentication cached() throws ServletException, IOException {
+        return pass();
+    }
+
+    @Benchmark
+    public Authentication cold() throws ServletException, IOException {
+        tokenCache.invalidate(token);
+        principalCache.invalidate(AuthFixtures.USER_ID);
+        return pass();
+    }
+
+    private Authentication pass() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,38 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e verificação (parse + HMAC) de tokens JWT, sem o cache de tokens verificados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenProvider = AuthFixtures.tokenProvider();
+        principal = AuthFixtures.principal();
+        token = tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(principal);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyToken() {
+        return tokenProvider.verifyToken(token);
+    }
+}
@@ -0,0 +1,48 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação Bean Validation do {@link RegisterRequest}, executada em todo POST /api/auth/register
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegisterRequestValidationBenchmark {
+
+    private ValidatorFactory factory;
+    private Validator validator;
+    private RegisterRequest valid;
+    private RegisterRequest invalid;
+
+    @Setup
+    public void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        valid = new RegisterRequest("Ana Maria", "ana.maria@teste.com", "Senha@123");
+        invalid = new RegisterRequest("A1", "nao-e-email", "fraca");
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegisterRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<RegisterRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
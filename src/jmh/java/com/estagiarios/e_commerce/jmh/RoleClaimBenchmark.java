@@ -0,0 +1,84 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Roles no token como lista de strings ({@code legacy}, formato antigo) ou bitmask ({@code mask}).
+ * Mede o parse do token e a autorização (montar o principal e checar uma authority);
+ * o tamanho dos dois formatos é comparado em
+ * {@code RoleMaskTest#tokenComBitmaskEMenorETemAsMesmasRoles}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleClaimBenchmark {
+
+    private static final GrantedAuthority MODERATOR = new SimpleGrantedAuthority(Role.MODERATOR.getAuthority());
+
+    @Param({"legacy", "mask"})
+    public String encoding;
+
+    private JwtTokenProvider tokenProvider;
+    private Usuario usuario;
+    private String token;
+    private boolean legacy;
+
+    @Setup
+    public void setup() {
+        tokenProvider = AuthFixtures.tokenProvider();
+        usuario = AuthFixtures.usuario();
+        legacy = "legacy".equals(encoding);
+        token = legacy ? legacyToken(usuario) : tokenProvider.generateToken(UserPrincipal.create(usuario));
+    }
+
+    @Benchmark
+    public VerifiedToken parse() {
+        return tokenProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public boolean authorize() {
+        UserPrincipal principal = UserPrincipal.create(usuario);
+        Collection<? extends GrantedAuthority> authorities = legacy
+                ? legacyAuthorities(usuario)
+                : principal.getAuthorities();
+        return authorities.contains(MODERATOR);
+    }
+
+    /**
+     * Como o principal mapeava as roles antes das coleções pré-montadas
+     */
+    private static List<GrantedAuthority> legacyAuthorities(Usuario usuario) {
+        return usuario.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
+                .collect(Collectors.toList());
+    }
+
+    private static String legacyToken(Usuario usuario) {
+        return Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(Long.toString(usuario.getId()))
+                .claim("roles", usuario.getRoles().stream().map(Role::getAuthority).toList())
+                .claim("ver", usuario.getVersaoCredenciais())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 900_000))
+                .signWith(Keys.hmacShaKeyFor(AuthFixtures.SECRET.getBytes()))
+                .compact();
+    }
+}
@@ -0,0 +1,78 @@
+package com.estagiarios.e_commerce.jmh;
+
+import com.estagiarios.e_commerce.datasource.ReadYourWritesTracker;
+import com.estagiarios.e_commerce.dto.TokenIntrospection;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.security.*;
+import com.estagiarios.e_commerce.service.EmailMembershipFilter;
+import com.estagiarios.e_commerce.service.RefreshTokenService;
+import com.estagiarios.e_commerce.service.TokenIntrospectionService;
+import com.estagiarios.e_commerce.service.UsuarioService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um lote de {@code batch} tokens distintos em {@link TokenIntrospectionService#introspectar}.
+ * {@code cache=quente} é o caso comum de tokens já verificados; {@code cache=frio} tira
+ * todos do cache antes de cada chamada e paga parse e HMAC de cada um. O principal fica
+ * em cache nos dois casos (todos os tokens são do mesmo usuário).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenIntrospectionBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int batch;
+
+    @Param({"quente", "frio"})
+    private String cache;
+
+    private TokenIntrospectionService service;
+    private VerifiedTokenCache tokenCache;
+    private List<String> tokens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JwtTokenProvider tokenProvider = AuthFixtures.tokenProvider();
+        UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+        Mockito.when(repository.findCredenciaisById(AuthFixtures.USER_ID)).thenReturn(AuthFixtures.credenciais());
+
+        tokenCache = new VerifiedTokenCache(tokenProvider, 20_000);
+        UsuarioService usuarioService = new UsuarioService(repository, Mockito.mock(PasswordEncoder.class),
+                new UserPrincipalCache(10_000, 300_000), Mockito.mock(PasswordHashingExecutor.class),
+                Mockito.mock(EmailMembershipFilter.class), Mockito.mock(RefreshTokenService.class),
+                new ReadYourWritesTracker(false, 0));
+        service = new TokenIntrospectionService(tokenCache, new TokenDenylist(300, 900_000), usuarioService,
+                AuthFixtures.metrics(), 0);
+
+        UserPrincipal principal = AuthFixtures.principal();
+        tokens = new ArrayList<>(batch);
+        for (int i = 0; i < batch; i++) {
+            tokens.add(tokenProvider.generateToken(principal));
+        }
+        service.introspectar(tokens);
+    }
+
+    @Setup(Level.Invocation)
+    public void esvaziarCache() {
+        if ("frio".equals(cache)) {
+            tokens.forEach(tokenCache::invalidate);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public List<TokenIntrospection> introspectar() {
+        return service.introspectar(tokens);
+    }
+}
@@ -0,0 +1,14 @@
+package com.estagiarios.e_commerce.audit;
+
+public enum AuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    LOGIN_UNKNOWN_USER,
+    LOGIN_THROTTLED,
+    REGISTER_SUCCESS,
+    REGISTER_FAILURE,
+    TOKEN_REFRESH,
+    TOKEN_REFRESH_FAILURE,
+    LOGOUT,
+    LOGOUT_ALL
+}
@@ -0,0 +1,312 @@
+package com.estagiarios.e_commerce.audit;
+
+import com.estagiarios.e_commerce.util.EmailUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log de auditoria de autenticação, separado do log da aplicação.
+ * As threads de requisição só publicam os campos do evento em um {@link AuditRingBuffer};
+ * uma thread dedicada formata em JSON por linha (mascarando o email nesse momento), agrupa
+ * em lotes e grava com {@link FileChannel}, rotacionando o arquivo pelo tamanho.
+ * Se o gravador não acompanhar, eventos são descartados e contados em vez de bloquear.
+ * Depois de um erro de I/O o arquivo é reaberto no próximo lote.
+ */
+@Slf4j
+@Component
+public class AuditLog {
+
+    public static final long NO_USER = -1;
+
+    private static final long REOPEN_INTERVAL_MS = 1000;
+
+    private final boolean enabled;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final int batchSize;
+    private final AuditRingBuffer buffer;
+
+    private final StringBuilder line = new StringBuilder(256);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+    private final LongAdder written = new LongAdder();
+    /** Eventos já retirados do buffer que um erro de I/O impediu de gravar */
+    private final LongAdder lost = new LongAdder();
+
+    private FileChannel channel;
+    private long fileBytes;
+    /** Eventos codificados em {@code out} que ainda não chegaram ao arquivo */
+    private int unflushed;
+    private long nextReopenMillis;
+    private Thread writer;
+    private volatile boolean running;
+
+    public AuditLog(@Value("${app.audit.enabled:true}") boolean enabled,
+                    @Value("${app.audit.file:logs/audit.log}") String file,
+                    @Value("${app.audit.buffer-size:8192}") int bufferSize,
+                    @Value("${app.audit.batch-size:256}") int batchSize,
+                    @Value("${app.audit.max-file-size-mb:50}") long maxFileSizeMb,
+                    @Value("${app.audit.max-files:10}") int maxFiles) {
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.batchSize = batchSize;
+        this.maxFileBytes = maxFileSizeMb * 1024 * 1024;
+        this.maxFiles = maxFiles;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        openChannel();
+        running = true;
+        writer = new Thread(this::drainLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void record(AuditEventType type, String email, String clientIp) {
+        record(type, email, NO_USER, clientIp, null);
+    }
+
+    /**
+     * Publica um evento sem bloquear; {@code detail} deve ser uma constante ou texto já pronto
+     */
+    public void record(AuditEventType type, String email, long userId, String clientIp, String detail) {
+        if (enabled) {
+            buffer.publish(System.currentTimeMillis(), type, email, userId, clientIp, detail);
+        }
+    }
+
+    /**
+     * Eventos descartados com o buffer cheio somados aos perdidos em erros de gravação
+     */
+    public long getDroppedCount() {
+        return buffer.getDroppedCount() + lost.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (drainBatch() == 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+        }
+        // Grava o que restou antes de encerrar
+        while (drainBatch() > 0) {
+            Thread.onSpinWait();
+        }
+        closeChannel();
+    }
+
+    private int drainBatch() {
+        // Sem arquivo os eventos ficam no buffer; se ele encher, entram como descartados
+        if (channel == null && !reopenChannel()) {
+            return 0;
+        }
+        int count = 0;
+        boolean encoding = false;
+        try {
+            AuditRingBuffer.Slot slot;
+            while (count < batchSize && (slot = buffer.peek()) != null) {
+                format(slot);
+                buffer.release(slot);
+                encoding = true;
+                encode();
+                encoding = false;
+                unflushed++;
+                count++;
+            }
+            if (count > 0) {
+                flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            int perdidos = unflushed + (encoding ? 1 : 0);
+            lost.add(perdidos);
+            unflushed = 0;
+            out.clear();
+            log.error("Falha ao gravar o log de auditoria, {} eventos perdidos: {}", perdidos, e.getMessage());
+            closeChannel();
+            nextReopenMillis = System.currentTimeMillis() + REOPEN_INTERVAL_MS;
+        }
+        return count;
+    }
+
+    private void format(AuditRingBuffer.Slot slot) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(slot.timestampMillis))
+                .append("\",\"event\":\"").append(slot.type.name()).append('"');
+        if (slot.email != null) {
+            line.append(",\"email\":\"");
+            int start = line.length();
+            EmailUtils.appendMasked(line, slot.email);
+            escape(start);
+            line.append('"');
+        }
+        if (slot.userId != NO_USER) {
+            line.append(",\"userId\":").append(slot.userId);
+        }
+        appendString("ip", slot.clientIp);
+        appendString("detail", slot.detail);
+        line.append("}\n");
+    }
+
+    private void appendString(String name, String value) {
+        if (value == null) {
+            return;
+        }
+        line.append(",\"").append(name).append("\":\"");
+        int start = line.length();
+        line.append(value);
+        escape(start);
+        line.append('"');
+    }
+
+    /**
+     * Escapa aspas, barras e caracteres de controle a partir de {@code start}
+     */
+    private void escape(int start) {
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.insert(i++, '\\');
+            } else if (c < 0x20) {
+                line.setCharAt(i, ' ');
+            }
+        }
+    }
+
+    private void encode() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, out, true);
+            if (result.isOverflow()) {
+                // Só grava: rotacionar aqui dividiria a linha entre dois arquivos
+                write();
+                continue;
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            break;
+        }
+        encoder.flush(out);
+    }
+
+    /**
+     * Grava o lote e, já no fim de um registro, rotaciona o arquivo se passou do tamanho
+     */
+    private void flush() throws IOException {
+        write();
+        if (fileBytes >= maxFileBytes) {
+            rotate();
+        }
+    }
+
+    private void write() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            fileBytes += channel.write(out);
+        }
+        out.clear();
+        written.add(unflushed);
+        unflushed = 0;
+    }
+
+    /**
+     * audit.log vira audit.log.1, audit.log.1 vira audit.log.2 e assim por diante
+     */
+    private void rotate() throws IOException {
+        closeChannel();
+        if (maxFiles <= 1) {
+            Files.deleteIfExists(file);
+        }
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = i == 1 ? file : file.resolveSibling(file.getFileName() + "." + (i - 1));
+            if (Files.exists(source)) {
+                Files.move(source, file.resolveSibling(file.getFileName() + "." + i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        openChannel();
+    }
+
+    /**
+     * Tenta reabrir o arquivo depois de uma falha, no máximo uma vez a cada {@link #REOPEN_INTERVAL_MS}
+     */
+    private boolean reopenChannel() {
+        long now = System.currentTimeMillis();
+        if (now < nextReopenMillis) {
+            return false;
+        }
+        try {
+            openChannel();
+            log.info("Log de auditoria reaberto");
+            return true;
+        } catch (IOException e) {
+            nextReopenMillis = now + REOPEN_INTERVAL_MS;
+            log.error("Falha ao reabrir o log de auditoria: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void openChannel() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        fileBytes = channel.size();
+    }
+
+    private void closeChannel() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o log de auditoria: {}", e.getMessage());
+        } finally {
+            channel = null;
+        }
+    }
+}
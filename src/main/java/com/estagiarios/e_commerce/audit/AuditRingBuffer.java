@@ -0,0 +1,98 @@
+package com.estagiarios.e_commerce.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila circular de eventos de auditoria com vários produtores e um único consumidor.
+ * Os slots são pré-alocados e reaproveitados: publicar um evento só copia referências
+ * e primitivos para o slot. Com a fila cheia o evento é descartado e contado, nunca espera.
+ */
+final class AuditRingBuffer {
+
+    /**
+     * Slot mutável; {@code sequence} é escrito por último e publica os demais campos
+     */
+    static final class Slot {
+        long timestampMillis;
+        AuditEventType type;
+        String email;
+        long userId;
+        String clientIp;
+        String detail;
+        volatile long sequence = -1;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    /** Próxima sequência a consumir; só o consumidor escreve */
+    private volatile long consumed;
+
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return {@code false} se a fila estava cheia e o evento foi descartado
+     */
+    boolean publish(long timestampMillis, AuditEventType type, String email, long userId, String clientIp, String detail) {
+        long sequence;
+        while (true) {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestampMillis = timestampMillis;
+        slot.type = type;
+        slot.email = email;
+        slot.userId = userId;
+        slot.clientIp = clientIp;
+        slot.detail = detail;
+        slot.sequence = sequence;
+        return true;
+    }
+
+    /**
+     * Próximo slot publicado ou {@code null}; deve ser seguido de {@link #release} após o uso
+     */
+    Slot peek() {
+        long next = consumed;
+        Slot slot = slots[(int) (next & mask)];
+        return slot.sequence == next ? slot : null;
+    }
+
+    /**
+     * Libera o slot lido por {@link #peek} para reuso pelos produtores
+     */
+    void release(Slot slot) {
+        slot.email = null;
+        slot.clientIp = null;
+        slot.detail = null;
+        consumed = consumed + 1;
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    int size() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
@@ -1,14 +1,86 @@
 package com.estagiarios.e_commerce.config;
 
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.metrics.TimedPasswordEncoder;
+import com.estagiarios.e_commerce.security.PasswordCostCalibrator;
+import com.estagiarios.e_commerce.security.PasswordHashSpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hash de senhas com algoritmo configurável e custo calibrado na subida.
+ * Os hashes novos levam o prefixo {@code {bcrypt}} ou {@code {argon2}}; os antigos, sem
+ * prefixo, continuam sendo conferidos como BCrypt. Hashes com algoritmo diferente ou custo
+ * abaixo do alvo são regravados no próximo login (ver {@code PasswordRehashService#updatePassword}).
+ */
+@Slf4j
 @Configuration
 public class PasswordConfig {
+
+    private static final int ARGON2_MIN_ITERATIONS = 2;
+
+    /**
+     * Algoritmo e custo usados nos hashes novos. Com {@code strength}/{@code iterations}
+     * maior que zero o custo é fixo; senão é o maior que cabe em {@code hash-budget-ms}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordHashSpec passwordHashTarget(
+            @Value("${app.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.password.hash-budget-ms:250}") long budgetMillis,
+            @Value("${app.password.bcrypt.strength:0}") int bcryptStrength,
+            @Value("${app.password.bcrypt.min-strength:10}") int bcryptMinStrength,
+            @Value("${app.password.bcrypt.max-strength:14}") int bcryptMaxStrength,
+            @Value("${app.password.argon2.iterations:0}") int argon2Iterations,
+            @Value("${app.password.argon2.max-iterations:10}") int argon2MaxIterations,
+            @Value("${app.password.argon2.memory-kib:19456}") int argon2MemoryKib,
+            @Value("${app.password.argon2.parallelism:1}") int argon2Parallelism) {
+        Duration budget = Duration.ofMillis(budgetMillis);
+        long start = System.nanoTime();
+        PasswordHashSpec target = switch (algorithm) {
+            case PasswordHashSpec.BCRYPT -> PasswordHashSpec.bcrypt(bcryptStrength > 0
+                    ? bcryptStrength
+                    : PasswordCostCalibrator.bcryptStrength(budget, bcryptMinStrength, bcryptMaxStrength));
+            case PasswordHashSpec.ARGON2 -> PasswordHashSpec.argon2(argon2Iterations > 0
+                            ? argon2Iterations
+                            : PasswordCostCalibrator.argon2Iterations(budget, argon2MemoryKib, argon2Parallelism,
+                                    ARGON2_MIN_ITERATIONS, argon2MaxIterations),
+                    argon2MemoryKib, argon2Parallelism);
+            default -> throw new IllegalStateException("app.password.algorithm inválido: " + algorithm);
+        };
+        log.info("Hash de senhas: {} {} (orçamento {} ms, definido em {} ms)", target.algorithm(),
+                target.parameters(), budgetMillis, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return target;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashSpec passwordHashTarget, AuthMetrics authMetrics) {
+        boolean argon2 = PasswordHashSpec.ARGON2.equals(passwordHashTarget.algorithm());
+        // O encoder que não é o alvo só confere hashes antigos, lendo os parâmetros do próprio hash
+        PasswordEncoder bcryptEncoder = argon2
+                ? new BCryptPasswordEncoder()
+                : new BCryptPasswordEncoder(passwordHashTarget.cost());
+        PasswordEncoder argon2Encoder = argon2
+                ? new Argon2PasswordEncoder(PasswordCostCalibrator.ARGON2_SALT_LENGTH,
+                        PasswordCostCalibrator.ARGON2_HASH_LENGTH, passwordHashTarget.parallelism(),
+                        passwordHashTarget.memoryKib(), passwordHashTarget.cost())
+                : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PasswordHashSpec.BCRYPT, bcryptEncoder);
+        encoders.put(PasswordHashSpec.ARGON2, argon2Encoder);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(passwordHashTarget.algorithm(), encoders);
+        // Hashes gravados antes dos prefixos são BCrypt puro
+        delegating.setDefaultPasswordEncoderForMatches(bcryptEncoder);
+        return new TimedPasswordEncoder(delegating, authMetrics);
     }
 }
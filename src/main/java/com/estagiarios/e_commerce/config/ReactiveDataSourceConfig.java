@@ -0,0 +1,29 @@
+package com.estagiarios.e_commerce.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pool JDBC do modo reativo. A autoconfiguração do DataSource recua quando existe um
+ * {@code ConnectionFactory} R2DBC, mas JPA continua servindo refresh tokens, revogação e as
+ * tarefas de fundo; o pool é declarado aqui com as mesmas chaves {@code spring.datasource.*}.
+ * Com réplicas habilitadas quem declara o pool é o {@link ReadReplicaDataSourceConfig}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveDataSourceConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.read-replicas.enabled", havingValue = "false", matchIfMissing = true)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.estagiarios.e_commerce.config;
+
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.security.PasswordHashingExecutor;
+import com.estagiarios.e_commerce.security.ReactiveJwtAuthenticationFilter;
+import com.estagiarios.e_commerce.security.ReactivePasswordAuthenticationManager;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.VerifiedTokenCache;
+import com.estagiarios.e_commerce.service.ReactiveUsuarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import java.util.Arrays;
+
+/**
+ * Segurança do modo reativo ({@code spring.main.web-application-type=reactive}, profile
+ * {@code reactive}), equivalente ao {@link SecurityConfig}: mesmas regras de autorização,
+ * sem sessão e com o JWT verificado pelo {@link ReactiveJwtAuthenticationFilter}.
+ */
+@Slf4j
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final ReactiveUsuarioService usuarioService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+
+    /**
+     * Com Tomcat e Netty no classpath o Spring Boot escolheria o Tomcat; o modo reativo
+     * atende no event loop do Netty
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        log.info("Configurando SecurityWebFilterChain reativa com JWT e autorização");
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource()))
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                // Sem token a resposta é 403, como no modo servlet
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers("/api/auth/logout", "/api/auth/logout-all").authenticated()
+                        .pathMatchers("/api/auth/**").permitAll()
+                        .pathMatchers("/auth/**").permitAll()
+                        .pathMatchers("/api/public/**").permitAll()
+                        .pathMatchers("/actuator/health/**").permitAll()
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+                        .pathMatchers("/api/user/**").hasRole("USER")
+                        .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                        .pathMatchers("/api/moderator/**").hasAnyRole("MODERATOR", "ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .authenticationManager(reactiveAuthenticationManager())
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(verifiedTokenCache, tokenDenylist, usuarioService, authMetrics),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Login por email e senha; a senha é conferida no pool de hashing
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager() {
+        return new ReactivePasswordAuthenticationManager(usuarioService, passwordEncoder, passwordHashingExecutor);
+    }
+
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource() {
+        CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOriginPatterns(Arrays.asList("*"));
+        configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setAllowCredentials(true);
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", configuration);
+        return source;
+    }
+}
@@ -0,0 +1,70 @@
+package com.estagiarios.e_commerce.config;
+
+import com.estagiarios.e_commerce.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de leitura, habilitadas com {@code app.datasource.read-replicas.enabled=true}.
+ * O primário continua configurado em {@code spring.datasource.*}; cada réplica é um pool
+ * Hikari próprio em {@code app.datasource.read-replicas.pools[n].*}, com as mesmas chaves
+ * do Hikari (jdbc-url, username, password, maximum-pool-size, ...).
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    private static final String POOLS_PREFIX = "app.datasource.read-replicas.pools";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            Environment environment,
+            @Value("${app.datasource.read-replicas.validation-timeout-seconds:2}") int validationTimeoutSeconds) {
+        List<HikariConfig> pools = Binder.get(environment)
+                .bind(POOLS_PREFIX, Bindable.listOf(HikariConfig.class))
+                .orElseThrow(() -> new IllegalStateException("Nenhuma réplica em " + POOLS_PREFIX));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < pools.size(); i++) {
+            HikariConfig config = pools.get(i);
+            if (config.getPoolName() == null) {
+                config.setPoolName("replica-" + i);
+            }
+            config.setReadOnly(true);
+            // Réplica fora do ar na subida não impede a aplicação de iniciar
+            config.setInitializationFailTimeout(-1);
+            replicas.put(config.getPoolName(), new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, validationTimeoutSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -1,10 +1,19 @@
 package com.estagiarios.e_commerce.config;
 
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.security.IntrospectionSecretFilter;
 import com.estagiarios.e_commerce.security.JwtAuthenticationFilter;
-import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.PasswordHashingExecutor;
+import com.estagiarios.e_commerce.security.PooledPasswordEncoder;
+import com.estagiarios.e_commerce.security.StacklessDaoAuthenticationProvider;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.VerifiedTokenCache;
+import com.estagiarios.e_commerce.service.PasswordRehashService;
 import com.estagiarios.e_commerce.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,10 +34,12 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
 /**
- * Configuração básica de segurança do Spring Security
+ * Configuração básica de segurança do Spring Security.
+ * Só no modo servlet (padrão); o modo reativo usa o {@link ReactiveSecurityConfig}.
  */
 @Slf4j
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
@@ -36,7 +47,11 @@ public class SecurityConfig {
 
     private final UsuarioService usuarioService;
     private final PasswordEncoder passwordEncoder;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final AuthMetrics authMetrics;
+    private final PasswordRehashService passwordRehashService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
 
 
@@ -44,7 +59,8 @@ public class SecurityConfig {
      * Configuração de segurança com JWT e autorização baseada em roles
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   @Value("${app.introspection.secret:}") String introspectionSecret) throws Exception {
         log.info("Configurando SecurityFilterChain com JWT e autorização");
 
         return http
@@ -53,14 +69,20 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // Endpoints públicos
+                        .requestMatchers("/api/auth/logout", "/api/auth/logout-all").authenticated()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        // Serviços internos: autenticados pelo segredo compartilhado no IntrospectionSecretFilter
+                        .requestMatchers("/api/internal/**").permitAll()
                         // Swagger endpoints
                         .requestMatchers("/swagger-ui/**").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-resources/**").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
+                        // Health público para os probes; métricas e demais endpoints do actuator só para ADMIN
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Endpoints que requerem autenticação
                         .requestMatchers("/api/user/**").hasRole("USER")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -69,7 +91,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, usuarioService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new IntrospectionSecretFilter(introspectionSecret), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(verifiedTokenCache, tokenDenylist, usuarioService, authMetrics), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
@@ -84,13 +107,20 @@ public class SecurityConfig {
     }
 
     /**
-     * Configura o DaoAuthenticationProvider
+     * Configura o DaoAuthenticationProvider.
+     * A busca do usuário é medida à parte do BCrypt, e usuário inexistente não é convertido em
+     * BadCredentials para que as métricas separem os dois casos; a resposta HTTP continua a mesma.
+     * Senha incorreta e usuário inexistente usam exceções sem stack trace.
+     * Só o encode/matches vai para o pool de hashing ({@link PooledPasswordEncoder}).
+     * Após um login bem-sucedido, hashes desatualizados são regravados pelo {@link PasswordRehashService}.
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
-        authProvider.setUserDetailsService(usuarioService);
-        authProvider.setPasswordEncoder(passwordEncoder);
+        DaoAuthenticationProvider authProvider = new StacklessDaoAuthenticationProvider();
+        authProvider.setUserDetailsService(email -> authMetrics.timeUserLookup(() -> usuarioService.loadUserByUsername(email)));
+        authProvider.setPasswordEncoder(new PooledPasswordEncoder(passwordEncoder, passwordHashingExecutor));
+        authProvider.setUserDetailsPasswordService(passwordRehashService);
+        authProvider.setHideUserNotFoundExceptions(false);
         return authProvider;
     }
 
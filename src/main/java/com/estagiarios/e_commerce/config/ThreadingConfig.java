@@ -0,0 +1,19 @@
+package com.estagiarios.e_commerce.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração de execução das requisições e tarefas assíncronas.
+ * Com {@code spring.threads.virtual.enabled=true} o Spring Boot usa virtual threads
+ * no Tomcat (e portanto em toda a cadeia de filtros) e no executor padrão do {@code @Async}.
+ * O BCrypt continua no {@link com.estagiarios.e_commerce.security.PasswordHashingExecutor},
+ * que usa threads de plataforma por ser trabalho de CPU.
+ * Também habilita as tarefas agendadas ({@code @Scheduled}).
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ThreadingConfig {
+}
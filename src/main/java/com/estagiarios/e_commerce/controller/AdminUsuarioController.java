@@ -0,0 +1,98 @@
+package com.estagiarios.e_commerce.controller;
+
+import com.estagiarios.e_commerce.dto.PaginaUsuarios;
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.service.UsuarioAdminService;
+import com.estagiarios.e_commerce.service.UsuarioImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Endpoints administrativos de usuários (protegidos pela role ADMIN em {@code /api/admin/**}).
+ * Lê e escreve direto nos streams do servlet, então só existe no modo servlet.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/usuarios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Administração de usuários", description = "Operações administrativas sobre usuários")
+public class AdminUsuarioController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UsuarioImportService importService;
+    private final UsuarioAdminService adminService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(summary = "Importar usuários em massa",
+            description = "Recebe CSV (cabeçalho name,email,password) ou NDJSON de RegisterRequest e "
+                    + "devolve um resultado NDJSON por linha, à medida que os lotes são gravados")
+    @PostMapping(value = "/import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importar(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UsuarioImportService.Formato formato = "csv".equalsIgnoreCase(contentType.getSubtype())
+                ? UsuarioImportService.Formato.CSV
+                : UsuarioImportService.Formato.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        importService.importar(new InputStreamReader(request.getInputStream(), charset), formato, resultado -> {
+            try {
+                out.write(objectMapper.writeValueAsString(resultado));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    @Operation(summary = "Listar usuários",
+            description = "Paginação por keyset: passe em after o proximoCursor da página anterior")
+    @GetMapping
+    public ResponseEntity<PaginaUsuarios> listar(
+            @Parameter(description = "Cursor (id) da página anterior") @RequestParam(required = false) Long after,
+            @Parameter(description = "Filtra usuários com a role") @RequestParam(required = false) Role role,
+            @Parameter(description = "Tamanho da página, até " + UsuarioAdminService.LIMITE_MAXIMO)
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(adminService.listar(after, role, limit));
+    }
+
+    @Operation(summary = "Exportar usuários",
+            description = "Todos os usuários em NDJSON, transmitidos à medida que são lidos do banco")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportar(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        adminService.exportar(response.getOutputStream());
+    }
+}
@@ -1,33 +1,58 @@
 package com.estagiarios.e_commerce.controller;
 
+import com.estagiarios.e_commerce.audit.AuditEventType;
+import com.estagiarios.e_commerce.audit.AuditLog;
 import com.estagiarios.e_commerce.dto.*;
 import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.exception.PasswordHashingSaturatedException;
+import com.estagiarios.e_commerce.exception.RefreshTokenInvalidoException;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.metrics.AuthMetrics.LoginOutcome;
+import com.estagiarios.e_commerce.metrics.AuthMetrics.RegisterOutcome;
+import com.estagiarios.e_commerce.security.JwtAuthenticationFilter;
 import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.LoginThrottle;
 import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import com.estagiarios.e_commerce.service.LoginActivityRecorder;
+import com.estagiarios.e_commerce.service.RefreshTokenService;
+import com.estagiarios.e_commerce.service.TokenRevocationService;
 import com.estagiarios.e_commerce.service.UsuarioService;
+import com.estagiarios.e_commerce.util.ApiResponseCache;
+import com.estagiarios.e_commerce.util.EmailUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 
 
 
+/**
+ * {@code /api/auth} no modo servlet; no modo reativo quem atende é o {@link ReactiveAuthController}
+ */
 @Slf4j
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "${app.cors.allowed-origins:http://localhost:4200}", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 @Validated
 @Tag(name = "Autenticação", description = "Endpoints para autenticação e gerenciamento de usuários")
@@ -36,22 +61,40 @@ public class AuthController {
     private final UsuarioService usuarioService;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final AuthMetrics authMetrics;
+    private final AuditLog auditLog;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final ApiResponseCache apiResponseCache;
 
 
-    @Operation(summary = "Realizar login", description = "Autentica um usuário e retorna um token JWT",
+    @Operation(summary = "Realizar login", description = "Autentica um usuário e retorna um token JWT e um refresh token",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Login realizado com sucesso",
                             content = @Content(schema = @Schema(implementation = JwtAuthenticationResponse.class))),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados de login inválidos"),
-                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Muitas tentativas de login"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado")
             })
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        String email = loginRequest.getEmail();
-        log.info("Tentativa de login para email: {}", maskEmail(email));
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        long start = System.nanoTime();
+        String email = EmailUtils.normalize(loginRequest.getEmail());
+        String clientIp = request.getRemoteAddr();
+
+        // Limite por IP e por email antes de qualquer BCrypt
+        long waitNanos = loginThrottle.tryAcquire(email, clientIp);
+        if (waitNanos > 0) {
+            auditLog.record(AuditEventType.LOGIN_THROTTLED, email, clientIp);
+            authMetrics.recordLogin(LoginOutcome.THROTTLED, start);
+            return tooManyRequests(waitNanos);
+        }
 
         try {
-            // Autenticar usuário usando Spring Security
+            // Autenticar usuário usando Spring Security; só o BCrypt roda no pool de hashing
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             email,
@@ -64,50 +107,132 @@ public class AuthController {
             // Gerar JWT token
             String jwt = tokenProvider.generateToken(authentication);
 
-            // Obter dados do usuário autenticado para log
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
-            log.info("Login realizado com sucesso para usuário: {}", userPrincipal.getNome());
+            String refreshToken = refreshTokenService.emitir(userPrincipal.getId());
+            authMetrics.recordLogin(LoginOutcome.SUCCESS, start);
+            auditLog.record(AuditEventType.LOGIN_SUCCESS, email, userPrincipal.getId(), clientIp, null);
+            loginActivityRecorder.registrarLogin(userPrincipal.getUsername());
 
-            // Retornar apenas o token seguindo boas práticas de segurança
-            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+            // Retornar apenas os tokens seguindo boas práticas de segurança
+            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, "Bearer", refreshToken));
 
+        } catch (PasswordHashingSaturatedException e) {
+            log.warn("Login recusado por sobrecarga do pool de hashing: {}", e.getMessage());
+            authMetrics.recordLogin(LoginOutcome.SATURATED, start);
+            return serviceUnavailable();
         } catch (Exception e) {
-            String errorMessage = "Falha na autenticação para email: " + maskEmail(loginRequest.getEmail()) + " - " + e.getMessage();
-            log.warn(errorMessage);
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new ApiResponse(false, "Email ou senha inválidos"));
+            LoginOutcome outcome = outcomeOf(e);
+            authMetrics.recordLogin(outcome, start);
+            auditLog.record(outcome == LoginOutcome.UNKNOWN_USER ? AuditEventType.LOGIN_UNKNOWN_USER : AuditEventType.LOGIN_FAILURE,
+                    email, AuditLog.NO_USER, clientIp, outcome == LoginOutcome.ERROR ? e.getClass().getSimpleName() : null);
+            if (outcome == LoginOutcome.BAD_CREDENTIALS) {
+                loginActivityRecorder.registrarFalha(email);
+            } else if (outcome == LoginOutcome.ERROR) {
+                log.warn("Falha inesperada na autenticação: {}", e.getMessage());
+            }
+            // Corpo pré-serializado: falhas de login não pagam serialização JSON
+            return apiResponseCache.error(HttpStatus.UNAUTHORIZED, "Email ou senha inválidos");
         }
     }
 
 
+    @Operation(summary = "Renovar token", description = "Troca um refresh token por um novo access token, sem verificar senha. "
+            + "O refresh token é rotacionado: o enviado deixa de valer e um novo é retornado",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Token renovado com sucesso",
+                            content = @Content(schema = @Schema(implementation = JwtAuthenticationResponse.class))),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou reutilizado")
+            })
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        try {
+            RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(request.getRefreshToken());
+            UserPrincipal userPrincipal = usuarioService.loadUserById(rotacao.usuarioId());
+            String jwt = tokenProvider.generateToken(userPrincipal);
+            auditLog.record(AuditEventType.TOKEN_REFRESH, null, rotacao.usuarioId(), httpRequest.getRemoteAddr(), null);
+
+            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, "Bearer", rotacao.refreshToken()));
+
+        } catch (RefreshTokenInvalidoException e) {
+            auditLog.record(AuditEventType.TOKEN_REFRESH_FAILURE, null, AuditLog.NO_USER,
+                    httpRequest.getRemoteAddr(), e.getMessage());
+            return apiResponseCache.error(HttpStatus.UNAUTHORIZED, "Refresh token inválido");
+        }
+    }
+
+
+    @Operation(summary = "Encerrar sessão", description = "Revoga o access token usado na chamada e, se enviado, "
+            + "o refresh token da mesma sessão",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Sessão encerrada"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Token ausente ou inválido")
+            })
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(HttpServletRequest request,
+                                    @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        VerifiedToken token = (VerifiedToken) request.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        if (token == null || !tokenRevocationService.revogar(token)) {
+            // Token sem jti: não há como revogá-lo isoladamente
+            return apiResponseCache.error(HttpStatus.BAD_REQUEST, "Token não suporta revogação; use /logout-all");
+        }
+        if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+            refreshTokenService.revogar(refreshTokenRequest.getRefreshToken());
+        }
+        auditLog.record(AuditEventType.LOGOUT, null, token.userId(), request.getRemoteAddr(), null);
+        return apiResponseCache.status(HttpStatus.OK).body(apiResponseCache.json(true, "Sessão encerrada"));
+    }
+
+
+    @Operation(summary = "Encerrar todas as sessões", description = "Invalida todos os access e refresh tokens do usuário",
+            responses = {
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Sessões encerradas"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Token ausente ou inválido")
+            })
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal UserPrincipal userPrincipal, HttpServletRequest request) {
+        usuarioService.encerrarSessoes(userPrincipal.getId());
+        auditLog.record(AuditEventType.LOGOUT_ALL, null, userPrincipal.getId(), request.getRemoteAddr(), null);
+        return apiResponseCache.status(HttpStatus.OK).body(apiResponseCache.json(true, "Todas as sessões foram encerradas"));
+    }
+
+
     @Operation(summary = "Registrar usuário", description = "Registra um novo usuário no sistema",
             responses = {
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Usuário registrado com sucesso"),
                     @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Dados de registro inválidos"),
-                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Email já cadastrado")
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Email já cadastrado"),
+                    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Serviço de autenticação sobrecarregado")
             })
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest) {
-        log.info("Tentativa de registro para email: {}",
-                 maskEmail(registerRequest.getEmail()));
+    public ResponseEntity<?> registerUser(@Valid @RequestBody RegisterRequest registerRequest, HttpServletRequest request) {
+        long start = System.nanoTime();
+        registerRequest.setEmail(EmailUtils.normalize(registerRequest.getEmail()));
+        String email = registerRequest.getEmail();
 
         try {
             Usuario usuario = usuarioService.registrarUsuario(registerRequest);
-            log.info("Usuário registrado com sucesso: {}", usuario.getNome());
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new ApiResponse(true, "Usuário registrado com sucesso"));
+            authMetrics.recordRegister(RegisterOutcome.CREATED, start);
+            auditLog.record(AuditEventType.REGISTER_SUCCESS, email, usuario.getId(), request.getRemoteAddr(), null);
+            return apiResponseCache.status(HttpStatus.CREATED)
+                    .body(apiResponseCache.json(true, "Usuário registrado com sucesso"));
 
+        } catch (PasswordHashingSaturatedException e) {
+            log.warn("Registro recusado por sobrecarga do pool de hashing: {}", e.getMessage());
+            authMetrics.recordRegister(RegisterOutcome.SATURATED, start);
+            return serviceUnavailable();
         } catch (IllegalArgumentException e) {
-            log.warn("Erro de validação durante registro para email: {} - {}",
-                     maskEmail(registerRequest.getEmail()), e.getMessage());
+            authMetrics.recordRegister(e.getMessage() != null && e.getMessage().startsWith("Email já cadastrado")
+                    ? RegisterOutcome.DUPLICATE : RegisterOutcome.INVALID, start);
+            auditLog.record(AuditEventType.REGISTER_FAILURE, email, AuditLog.NO_USER, request.getRemoteAddr(), e.getMessage());
             return ResponseEntity.badRequest()
                     .body(new ApiResponse(false, e.getMessage()));
         } catch (Exception e) {
+            authMetrics.recordRegister(RegisterOutcome.ERROR, start);
+            auditLog.record(AuditEventType.REGISTER_FAILURE, email, AuditLog.NO_USER, request.getRemoteAddr(), "erro interno");
             log.error("Erro inesperado durante registro para email: {} - {}",
-                     maskEmail(registerRequest.getEmail()), e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse(false, "Erro interno do servidor"));
+                     EmailUtils.mask(email), e.getMessage(), e);
+            return apiResponseCache.error(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
         }
     }
 
@@ -118,18 +243,30 @@ public class AuthController {
 
 
 
-    private String maskEmail(String email) {
-        if (email == null || !email.contains("@")) {
-            return "***";
+    private static LoginOutcome outcomeOf(Exception e) {
+        if (e instanceof UsernameNotFoundException) {
+            return LoginOutcome.UNKNOWN_USER;
         }
-        String[] parts = email.split("@");
-        String localPart = parts[0];
-        if (localPart.length() <= 1) {
-            return "***@" + parts[1];
+        if (e instanceof BadCredentialsException) {
+            return LoginOutcome.BAD_CREDENTIALS;
         }
-        return localPart.charAt(0) + "***@" + parts[1];
+        return LoginOutcome.ERROR;
+    }
+
+    private ResponseEntity<byte[]> tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return apiResponseCache.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(apiResponseCache.json(false, "Muitas tentativas de login, tente novamente mais tarde"));
     }
 
+    private ResponseEntity<byte[]> serviceUnavailable() {
+        return apiResponseCache.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiResponseCache.json(false, "Serviço temporariamente sobrecarregado, tente novamente"));
+    }
+
+
 
 }
 
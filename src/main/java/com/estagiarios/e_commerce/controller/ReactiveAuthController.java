@@ -0,0 +1,247 @@
+package com.estagiarios.e_commerce.controller;
+
+import com.estagiarios.e_commerce.audit.AuditEventType;
+import com.estagiarios.e_commerce.audit.AuditLog;
+import com.estagiarios.e_commerce.dto.*;
+import com.estagiarios.e_commerce.exception.PasswordHashingSaturatedException;
+import com.estagiarios.e_commerce.exception.RefreshTokenInvalidoException;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.metrics.AuthMetrics.LoginOutcome;
+import com.estagiarios.e_commerce.metrics.AuthMetrics.RegisterOutcome;
+import com.estagiarios.e_commerce.security.JwtAuthenticationFilter;
+import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.LoginThrottle;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import com.estagiarios.e_commerce.service.LoginActivityRecorder;
+import com.estagiarios.e_commerce.service.ReactiveUsuarioService;
+import com.estagiarios.e_commerce.service.RefreshTokenService;
+import com.estagiarios.e_commerce.service.TokenRevocationService;
+import com.estagiarios.e_commerce.service.UsuarioService;
+import com.estagiarios.e_commerce.util.ApiResponseCache;
+import com.estagiarios.e_commerce.util.EmailUtils;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Callable;
+
+/**
+ * {@code /api/auth} no modo reativo, com o mesmo contrato do {@link AuthController}
+ * (rotas, corpos, status, métricas e auditoria). Login e registro não bloqueiam: usuário
+ * via R2DBC e BCrypt no pool de hashing. Refresh tokens, revogação e encerramento de
+ * sessões continuam nos services JPA e rodam no scheduler {@code boundedElastic}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "${app.cors.allowed-origins:http://localhost:4200}", maxAge = 3600)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Validated
+public class ReactiveAuthController {
+
+    private final ReactiveUsuarioService reactiveUsuarioService;
+    private final UsuarioService usuarioService;
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtTokenProvider tokenProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LoginThrottle loginThrottle;
+    private final AuthMetrics authMetrics;
+    private final AuditLog auditLog;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final ApiResponseCache apiResponseCache;
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        String email = EmailUtils.normalize(loginRequest.getEmail());
+        String clientIp = clientIp(request);
+
+        // Limite por IP e por email antes de qualquer BCrypt
+        long waitNanos = loginThrottle.tryAcquire(email, clientIp);
+        if (waitNanos > 0) {
+            auditLog.record(AuditEventType.LOGIN_THROTTLED, email, clientIp);
+            authMetrics.recordLogin(LoginOutcome.THROTTLED, start);
+            return Mono.just(tooManyRequests(waitNanos));
+        }
+
+        return authenticationManager.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(email, loginRequest.getPassword()))
+                .flatMap(authentication -> {
+                    UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+                    String jwt = tokenProvider.generateToken(userPrincipal);
+                    return blocking(() -> refreshTokenService.emitir(userPrincipal.getId()))
+                            .<ResponseEntity<?>>map(refreshToken -> {
+                                authMetrics.recordLogin(LoginOutcome.SUCCESS, start);
+                                auditLog.record(AuditEventType.LOGIN_SUCCESS, email, userPrincipal.getId(), clientIp, null);
+                                loginActivityRecorder.registrarLogin(userPrincipal.getUsername());
+                                return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, "Bearer", refreshToken));
+                            });
+                })
+                .onErrorResume(e -> Mono.just(loginFailure(e, email, clientIp, start)));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<?>> refreshToken(@Valid @RequestBody RefreshTokenRequest request, ServerHttpRequest httpRequest) {
+        String clientIp = clientIp(httpRequest);
+        return blocking(() -> refreshTokenService.rotacionar(request.getRefreshToken()))
+                .flatMap(rotacao -> reactiveUsuarioService.loadUserById(rotacao.usuarioId())
+                        .<ResponseEntity<?>>map(userPrincipal -> {
+                            String jwt = tokenProvider.generateToken(userPrincipal);
+                            auditLog.record(AuditEventType.TOKEN_REFRESH, null, rotacao.usuarioId(), clientIp, null);
+                            return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, "Bearer", rotacao.refreshToken()));
+                        }))
+                .onErrorResume(RefreshTokenInvalidoException.class, e -> {
+                    auditLog.record(AuditEventType.TOKEN_REFRESH_FAILURE, null, AuditLog.NO_USER, clientIp, e.getMessage());
+                    return Mono.just(apiResponseCache.error(HttpStatus.UNAUTHORIZED, "Refresh token inválido"));
+                });
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<?>> logout(ServerWebExchange exchange,
+                                          @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        VerifiedToken token = exchange.getAttribute(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE);
+        String clientIp = clientIp(exchange.getRequest());
+        if (token == null) {
+            return Mono.just(apiResponseCache.error(HttpStatus.BAD_REQUEST, "Token não suporta revogação; use /logout-all"));
+        }
+        return blocking(() -> {
+            if (!tokenRevocationService.revogar(token)) {
+                return false;
+            }
+            if (refreshTokenRequest != null && refreshTokenRequest.getRefreshToken() != null) {
+                refreshTokenService.revogar(refreshTokenRequest.getRefreshToken());
+            }
+            return true;
+        }).map(revogado -> {
+            if (!revogado) {
+                // Token sem jti: não há como revogá-lo isoladamente
+                return apiResponseCache.error(HttpStatus.BAD_REQUEST, "Token não suporta revogação; use /logout-all");
+            }
+            auditLog.record(AuditEventType.LOGOUT, null, token.userId(), clientIp, null);
+            return apiResponseCache.status(HttpStatus.OK).body(apiResponseCache.json(true, "Sessão encerrada"));
+        });
+    }
+
+    @PostMapping("/logout-all")
+    public Mono<ResponseEntity<?>> logoutAll(@AuthenticationPrincipal UserPrincipal userPrincipal, ServerHttpRequest request) {
+        String clientIp = clientIp(request);
+        return blocking(() -> {
+            usuarioService.encerrarSessoes(userPrincipal.getId());
+            return userPrincipal.getId();
+        }).map(id -> {
+            auditLog.record(AuditEventType.LOGOUT_ALL, null, id, clientIp, null);
+            return apiResponseCache.status(HttpStatus.OK).body(apiResponseCache.json(true, "Todas as sessões foram encerradas"));
+        });
+    }
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<?>> registerUser(@Valid @RequestBody RegisterRequest registerRequest, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        registerRequest.setEmail(EmailUtils.normalize(registerRequest.getEmail()));
+        String email = registerRequest.getEmail();
+        String clientIp = clientIp(request);
+
+        return reactiveUsuarioService.registrarUsuario(registerRequest)
+                .<ResponseEntity<?>>map(id -> {
+                    authMetrics.recordRegister(RegisterOutcome.CREATED, start);
+                    auditLog.record(AuditEventType.REGISTER_SUCCESS, email, id, clientIp, null);
+                    return apiResponseCache.status(HttpStatus.CREATED)
+                            .body(apiResponseCache.json(true, "Usuário registrado com sucesso"));
+                })
+                .onErrorResume(e -> Mono.just(registerFailure(e, email, clientIp, start)));
+    }
+
+    private ResponseEntity<?> loginFailure(Throwable e, String email, String clientIp, long start) {
+        if (e instanceof PasswordHashingSaturatedException) {
+            log.warn("Login recusado por sobrecarga do pool de hashing: {}", e.getMessage());
+            authMetrics.recordLogin(LoginOutcome.SATURATED, start);
+            return serviceUnavailable();
+        }
+        LoginOutcome outcome = outcomeOf(e);
+        authMetrics.recordLogin(outcome, start);
+        auditLog.record(outcome == LoginOutcome.UNKNOWN_USER ? AuditEventType.LOGIN_UNKNOWN_USER : AuditEventType.LOGIN_FAILURE,
+                email, AuditLog.NO_USER, clientIp, outcome == LoginOutcome.ERROR ? e.getClass().getSimpleName() : null);
+        if (outcome == LoginOutcome.BAD_CREDENTIALS) {
+            loginActivityRecorder.registrarFalha(email);
+        } else if (outcome == LoginOutcome.ERROR) {
+            log.warn("Falha inesperada na autenticação: {}", e.getMessage());
+        }
+        return apiResponseCache.error(HttpStatus.UNAUTHORIZED, "Email ou senha inválidos");
+    }
+
+    private ResponseEntity<?> registerFailure(Throwable e, String email, String clientIp, long start) {
+        if (e instanceof PasswordHashingSaturatedException) {
+            log.warn("Registro recusado por sobrecarga do pool de hashing: {}", e.getMessage());
+            authMetrics.recordRegister(RegisterOutcome.SATURATED, start);
+            return serviceUnavailable();
+        }
+        if (e instanceof IllegalArgumentException) {
+            authMetrics.recordRegister(e.getMessage() != null && e.getMessage().startsWith("Email já cadastrado")
+                    ? RegisterOutcome.DUPLICATE : RegisterOutcome.INVALID, start);
+            auditLog.record(AuditEventType.REGISTER_FAILURE, email, AuditLog.NO_USER, clientIp, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse(false, e.getMessage()));
+        }
+        authMetrics.recordRegister(RegisterOutcome.ERROR, start);
+        auditLog.record(AuditEventType.REGISTER_FAILURE, email, AuditLog.NO_USER, clientIp, "erro interno");
+        log.error("Erro inesperado durante registro para email: {} - {}",
+                EmailUtils.mask(email), e.getMessage(), e);
+        return apiResponseCache.error(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor");
+    }
+
+    /**
+     * Chamadas aos services JPA, fora do event loop
+     */
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static String clientIp(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return null;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+
+    private static LoginOutcome outcomeOf(Throwable e) {
+        if (e instanceof UsernameNotFoundException) {
+            return LoginOutcome.UNKNOWN_USER;
+        }
+        if (e instanceof BadCredentialsException) {
+            return LoginOutcome.BAD_CREDENTIALS;
+        }
+        return LoginOutcome.ERROR;
+    }
+
+    private ResponseEntity<byte[]> tooManyRequests(long waitNanos) {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return apiResponseCache.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(apiResponseCache.json(false, "Muitas tentativas de login, tente novamente mais tarde"));
+    }
+
+    private ResponseEntity<byte[]> serviceUnavailable() {
+        return apiResponseCache.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiResponseCache.json(false, "Serviço temporariamente sobrecarregado, tente novamente"));
+    }
+}
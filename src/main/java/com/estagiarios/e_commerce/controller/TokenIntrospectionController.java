@@ -0,0 +1,41 @@
+package com.estagiarios.e_commerce.controller;
+
+import com.estagiarios.e_commerce.dto.IntrospectionRequest;
+import com.estagiarios.e_commerce.dto.IntrospectionResponse;
+import com.estagiarios.e_commerce.security.IntrospectionSecretFilter;
+import com.estagiarios.e_commerce.service.TokenIntrospectionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Introspecção de tokens para os serviços internos, que verificam um lote de tokens em
+ * uma chamada em vez de repassar cada requisição. O chamador se identifica com o segredo
+ * compartilhado em {@value IntrospectionSecretFilter#SECRET_HEADER} ({@code app.introspection.secret}),
+ * conferido pelo {@link IntrospectionSecretFilter} antes de o corpo chegar aqui.
+ * A verificação usa o cache de principals do modo servlet, por isso só existe nele.
+ */
+@RestController
+@RequestMapping("/api/internal")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Serviços internos", description = "Endpoints para outros serviços da plataforma")
+public class TokenIntrospectionController {
+
+    private final TokenIntrospectionService introspectionService;
+
+    @Operation(summary = "Verificar tokens em lote",
+            description = "Devolve, na ordem recebida, active/sub/roles/exp de cada access token "
+                    + "(até " + IntrospectionRequest.MAX_TOKENS + " por chamada)")
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectionResponse> introspectar(@Valid @RequestBody IntrospectionRequest request) {
+        return ResponseEntity.ok(new IntrospectionResponse(introspectionService.introspectar(request.getTokens())));
+    }
+}
@@ -0,0 +1,30 @@
+package com.estagiarios.e_commerce.controller;
+
+import com.estagiarios.e_commerce.dto.UsuarioResponse;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/user")
+@Tag(name = "Usuário", description = "Endpoints do usuário autenticado")
+public class UsuarioController {
+
+    @Operation(summary = "Dados do usuário autenticado", description = "Retorna id, email e roles do token atual")
+    @GetMapping("/me")
+    public ResponseEntity<UsuarioResponse> me(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(new UsuarioResponse(
+                principal.getId(),
+                principal.getEmail(),
+                principal.getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList()
+        ));
+    }
+}
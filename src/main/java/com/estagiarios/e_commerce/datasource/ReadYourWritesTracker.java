@@ -0,0 +1,81 @@
+package com.estagiarios.e_commerce.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lembra, por alguns segundos, quais usuários (por email ou id) acabaram de ser gravados,
+ * para que as leituras seguintes vão ao primário em vez de uma réplica possivelmente
+ * atrasada. A janela ({@code app.datasource.read-replicas.sticky-ms}) deve cobrir o
+ * atraso de replicação esperado. Sem réplicas habilitadas nada é registrado.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final boolean enabled;
+    private final long stickyMillis;
+    private final ConcurrentHashMap<Object, Long> recentWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${app.datasource.read-replicas.enabled:false}") boolean enabled,
+                                 @Value("${app.datasource.read-replicas.sticky-ms:5000}") long stickyMillis) {
+        this.enabled = enabled;
+        this.stickyMillis = stickyMillis;
+    }
+
+    /**
+     * Marca as chaves como gravadas; dentro de uma transação a janela começa no commit
+     */
+    public void markWritten(Object... keys) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mark(keys);
+                }
+            });
+        } else {
+            mark(keys);
+        }
+    }
+
+    /**
+     * Executa a leitura no primário se a chave foi gravada dentro da janela
+     */
+    public <T> T read(Object key, Supplier<T> action) {
+        return wasRecentlyWritten(key) ? ReplicaRoutingDataSource.onPrimary(action) : action.get();
+    }
+
+    public boolean wasRecentlyWritten(Object key) {
+        Long until = recentWrites.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until > System.currentTimeMillis()) {
+            return true;
+        }
+        recentWrites.remove(key, until);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.sticky-ms:5000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        recentWrites.values().removeIf(until -> until <= now);
+    }
+
+    private void mark(Object[] keys) {
+        long until = System.currentTimeMillis() + stickyMillis;
+        for (Object key : keys) {
+            recentWrites.put(key, until);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.estagiarios.e_commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma linha da importação em massa de usuários
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacaoResultado {
+
+    public enum Status { CRIADO, INVALIDO, DUPLICADO, ERRO }
+
+    private long linha;
+    private String email;
+    private Status status;
+    private String mensagem;
+}
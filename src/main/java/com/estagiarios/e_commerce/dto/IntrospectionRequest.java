@@ -0,0 +1,24 @@
+package com.estagiarios.e_commerce.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lote de access tokens a verificar, sem o prefixo "Bearer "
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntrospectionRequest {
+
+    public static final int MAX_TOKENS = 10_000;
+
+    @NotNull(message = "Lista de tokens é obrigatória")
+    @Size(min = 1, max = MAX_TOKENS, message = "Informe entre 1 e " + MAX_TOKENS + " tokens")
+    private List<String> tokens;
+}
@@ -0,0 +1,17 @@
+package com.estagiarios.e_commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Um resultado por token, na mesma ordem do {@link IntrospectionRequest}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IntrospectionResponse {
+    private List<TokenIntrospection> resultados;
+}
@@ -6,8 +6,8 @@ import lombok.NoArgsConstructor;
 
 /**
  * Resposta de autenticação JWT seguindo boas práticas de segurança.
- * Retorna apenas o token de acesso, mantendo dados sensíveis do usuário
- * seguros dentro do token JWT.
+ * Retorna o token de acesso e o refresh token opaco usado para renová-lo,
+ * mantendo dados sensíveis do usuário seguros dentro do token JWT.
  */
 @Data
 @AllArgsConstructor
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
 public class JwtAuthenticationResponse {
     private String accessToken;
     private String tokenType = "Bearer";
+    private String refreshToken;
 
     public JwtAuthenticationResponse(String accessToken) {
         this.accessToken = accessToken;
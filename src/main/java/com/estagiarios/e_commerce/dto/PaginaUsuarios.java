@@ -0,0 +1,19 @@
+package com.estagiarios.e_commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página da listagem administrativa. {@code proximoCursor} é o id a passar em
+ * {@code after} para a página seguinte; nulo na última página.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaUsuarios {
+    private List<UsuarioResumo> itens;
+    private Long proximoCursor;
+}
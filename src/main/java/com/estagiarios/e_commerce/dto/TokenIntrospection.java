@@ -0,0 +1,25 @@
+package com.estagiarios.e_commerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Resultado da introspecção de um token, nos nomes de campo da RFC 7662.
+ * Token inativo (inválido, expirado, revogado ou com credenciais alteradas) só traz
+ * {@code active=false}, sem dizer o motivo.
+ */
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospection {
+
+    public static final TokenIntrospection INATIVO = new TokenIntrospection(false, null, null, null);
+
+    boolean active;
+    /** id do usuário */
+    String sub;
+    List<String> roles;
+    /** expiração em epoch seconds */
+    Long exp;
+}
@@ -0,0 +1,19 @@
+package com.estagiarios.e_commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Dados públicos do usuário autenticado
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsuarioResponse {
+    private Long id;
+    private String email;
+    private List<String> roles;
+}
@@ -0,0 +1,22 @@
+package com.estagiarios.e_commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Usuário na listagem e na exportação administrativas (sem o hash da senha)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UsuarioResumo {
+    private Long id;
+    private String nome;
+    private String email;
+    private LocalDateTime ultimoLogin;
+    private List<String> roles;
+}
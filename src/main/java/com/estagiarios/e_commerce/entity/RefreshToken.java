@@ -0,0 +1,58 @@
+package com.estagiarios.e_commerce.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token opaco. Apenas o hash SHA-256 do token é persistido; tokens da mesma
+ * família descendem do mesmo login e são revogados juntos quando há reutilização.
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_tokens_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+                @Index(name = "idx_refresh_tokens_usuario", columnList = "usuario_id")
+        })
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(nullable = false)
+    private boolean usado;
+
+    @Column(nullable = false)
+    private boolean revogado;
+
+    public RefreshToken(Long usuarioId, String tokenHash, String familia, LocalDateTime criadoEm, LocalDateTime expiraEm) {
+        this.usuarioId = usuarioId;
+        this.tokenHash = tokenHash;
+        this.familia = familia;
+        this.criadoEm = criadoEm;
+        this.expiraEm = expiraEm;
+    }
+}
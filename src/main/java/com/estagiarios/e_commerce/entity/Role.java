@@ -13,6 +13,14 @@ public enum Role {
     public String getAuthority() {
         return authority;
     }
+
+    /**
+     * Bit da role no claim {@code rm} do JWT; novas roles devem ser adicionadas ao final
+     * para não mudar o significado de tokens já emitidos
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
     @Override
     public String toString() {
         return authority;
@@ -0,0 +1,37 @@
+package com.estagiarios.e_commerce.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Access token revogado antes da expiração (logout). A linha só é necessária até
+ * {@code expiraEm}; depois disso o próprio token deixa de ser aceito.
+ */
+@Entity
+@Table(name = "tokens_revogados",
+        indexes = {
+                @Index(name = "idx_tokens_revogados_expira_em", columnList = "expira_em"),
+                @Index(name = "idx_tokens_revogados_revogado_em", columnList = "revogado_em")
+        })
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenRevogado {
+
+    @Id
+    private UUID jti;
+
+    @Column(name = "usuario_id", nullable = false)
+    private Long usuarioId;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "revogado_em", nullable = false)
+    private LocalDateTime revogadoEm;
+}
@@ -8,21 +8,31 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "usuarios")
+@Table(name = "usuarios",
+        uniqueConstraints = @UniqueConstraint(name = "uk_usuarios_email", columnNames = "email"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Usuario{
 
+    /**
+     * Sequence com alocação em blocos: o Hibernate só consulta a sequence a cada 50 ids
+     * e consegue agrupar os INSERTs em batches JDBC (IDENTITY impede o batching).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -38,7 +48,7 @@ public class Usuario{
 
     @NotBlank(message = "Email é obrigatório")
     @Email(message = "Email deve ter formato válido")
-    @Column(nullable = false, unique = true, length = 150)
+    @Column(nullable = false, length = 150)
     private String email;
 
     @NotBlank(message = "Senha é obrigatória")
@@ -47,11 +57,40 @@ public class Usuario{
     private String senha;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @ElementCollection(targetClass = Role.class, fetch = FetchType.EAGER)
-    @CollectionTable(name = "usuario_roles",joinColumns = @JoinColumn(name = "usuario_id"))
+    @CollectionTable(name = "usuario_roles",joinColumns = @JoinColumn(name = "usuario_id"),
+            indexes = {@Index(name = "idx_usuario_roles_usuario", columnList = "usuario_id"),
+                    @Index(name = "idx_usuario_roles_role", columnList = "role, usuario_id")})
     @Column(name = "role")
     private Set<Role> roles = new HashSet<>();
 
+    /**
+     * Incrementada sempre que senha ou roles mudam; tokens emitidos com versão
+     * anterior deixam de ser aceitos.
+     */
+    @ColumnDefault("0")
+    @Column(name = "versao_credenciais", nullable = false)
+    private int versaoCredenciais;
+
+    /**
+     * Atualizados em segundo plano pelo LoginActivityRecorder; podem estar alguns
+     * segundos atrasados em relação ao último login
+     */
+    @Column(name = "ultimo_login")
+    private LocalDateTime ultimoLogin;
+
+    @ColumnDefault("0")
+    @Column(name = "tentativas_falhas", nullable = false)
+    private int tentativasFalhas;
+
+    /**
+     * Preenchido pelo banco no INSERT; usado pela sincronização incremental do filtro de emails
+     */
+    @ColumnDefault("current_timestamp")
+    @Column(name = "criado_em", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime criadoEm;
+
 
 
     public Usuario(String nome, String email, String senha) {
@@ -1,34 +1,51 @@
 package com.estagiarios.e_commerce.exception;
 
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Global Exception Handler para tratamento padronizado de exceções
+ * Global Exception Handler para tratamento padronizado de exceções.
+ * Atende os dois modos (servlet e reativo), por isso não recebe a requisição.
  */
 @Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    // Corpos fixos já codificados: respondidos sem conversão de String a cada requisição
+    private static final byte[] CREDENCIAIS_INVALIDAS = "Credenciais inválidas".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SOBRECARREGADO =
+            "Serviço temporariamente sobrecarregado. Tente novamente em instantes.".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ERRO_INTERNO =
+            "Erro interno do servidor. Tente novamente mais tarde.".getBytes(StandardCharsets.UTF_8);
+
     /**
-     * Trata exceções de validação de campos
+     * Trata exceções de validação de campos ({@code @Valid} no servlet e no WebFlux)
      */
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<String> handleValidationExceptions(
-            MethodArgumentNotValidException ex, HttpServletRequest request) {
+    @ExceptionHandler({MethodArgumentNotValidException.class, WebExchangeBindException.class})
+    public ResponseEntity<String> handleValidationExceptions(Exception ex) {
 
-        List<String> errors = ex.getBindingResult()
+        BindingResult bindingResult = ex instanceof MethodArgumentNotValidException invalid
+                ? invalid.getBindingResult()
+                : (WebExchangeBindException) ex;
+        List<String> errors = bindingResult
                 .getFieldErrors()
                 .stream()
                 .map(FieldError::getDefaultMessage)
@@ -42,25 +59,49 @@ public class GlobalExceptionHandler {
 
 
 
+    /**
+     * Trata parâmetros de query ou path com tipo inválido (ex.: role inexistente)
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+
+        log.warn("Invalid parameter {}: {}", ex.getName(), ex.getValue());
+        return ResponseEntity.badRequest().body("Parâmetro inválido: " + ex.getName());
+    }
+
     /**
      * Trata exceções de autenticação
      */
     @ExceptionHandler({BadCredentialsException.class, UsernameNotFoundException.class})
-    public ResponseEntity<String> handleAuthenticationException(
-            Exception ex, HttpServletRequest request) {
+    public ResponseEntity<byte[]> handleAuthenticationException(
+            Exception ex) {
+
+        log.debug("Authentication failed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).contentType(TEXT_PLAIN_UTF8).body(CREDENCIAIS_INVALIDAS);
+    }
+
+    /**
+     * Trata a saturação do pool de hashing de senhas
+     */
+    @ExceptionHandler(PasswordHashingSaturatedException.class)
+    public ResponseEntity<byte[]> handlePasswordHashingSaturated(
+            PasswordHashingSaturatedException ex) {
 
-        log.warn("Authentication failed: {}", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciais inválidas");
+        log.warn("Password hashing saturated: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(SOBRECARREGADO);
     }
 
     /**
      * Trata exceções genéricas não mapeadas
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGenericException(
-            Exception ex, HttpServletRequest request) {
+    public ResponseEntity<byte[]> handleGenericException(
+            Exception ex) {
 
         log.error("Unexpected error: ", ex);
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Erro interno do servidor. Tente novamente mais tarde.");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(TEXT_PLAIN_UTF8).body(ERRO_INTERNO);
     }
 }
\ No newline at end of file
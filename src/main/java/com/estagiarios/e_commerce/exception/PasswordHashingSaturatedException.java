@@ -0,0 +1,11 @@
+package com.estagiarios.e_commerce.exception;
+
+/**
+ * Lançada quando o pool de hashing de senhas está saturado e não aceita mais trabalho
+ */
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    public PasswordHashingSaturatedException(String message) {
+        super(message);
+    }
+}
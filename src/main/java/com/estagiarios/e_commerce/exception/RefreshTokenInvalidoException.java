@@ -0,0 +1,11 @@
+package com.estagiarios.e_commerce.exception;
+
+/**
+ * Lançada quando um refresh token não existe, expirou, foi revogado ou reutilizado
+ */
+public class RefreshTokenInvalidoException extends RuntimeException {
+
+    public RefreshTokenInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.estagiarios.e_commerce.exception;
+
+import org.springframework.security.authentication.BadCredentialsException;
+
+/**
+ * Senha incorreta no login. Não captura stack trace: é um resultado esperado e frequente
+ * (inclusive sob ataques de força bruta), e o stack nunca é logado.
+ */
+public class StacklessBadCredentialsException extends BadCredentialsException {
+
+    public StacklessBadCredentialsException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
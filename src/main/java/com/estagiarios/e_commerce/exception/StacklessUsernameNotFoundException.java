@@ -0,0 +1,19 @@
+package com.estagiarios.e_commerce.exception;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Email inexistente no login. Assim como {@link StacklessBadCredentialsException}, não
+ * captura stack trace.
+ */
+public class StacklessUsernameNotFoundException extends UsernameNotFoundException {
+
+    public StacklessUsernameNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
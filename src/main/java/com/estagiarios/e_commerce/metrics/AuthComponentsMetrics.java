@@ -0,0 +1,87 @@
+package com.estagiarios.e_commerce.metrics;
+
+import com.estagiarios.e_commerce.audit.AuditLog;
+import com.estagiarios.e_commerce.security.LoginThrottle;
+import com.estagiarios.e_commerce.security.PasswordHashingExecutor;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.UserPrincipalCache;
+import com.estagiarios.e_commerce.security.VerifiedTokenCache;
+import com.estagiarios.e_commerce.service.EmailMembershipFilter;
+import com.estagiarios.e_commerce.service.LoginActivityRecorder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expõe os contadores que caches, pool de hashing, filtro de emails, denylist e limitador
+ * já mantêm. Os valores só são lidos na coleta, sem custo no caminho das requisições.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthComponentsMetrics implements MeterBinder {
+
+    private final VerifiedTokenCache tokenCache;
+    private final UserPrincipalCache principalCache;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final EmailMembershipFilter emailFilter;
+    private final TokenDenylist denylist;
+    private final LoginThrottle loginThrottle;
+    private final AuditLog auditLog;
+    private final LoginActivityRecorder loginActivityRecorder;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.token.cache.requests", tokenCache, VerifiedTokenCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.token.cache.requests", tokenCache, VerifiedTokenCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        Gauge.builder("auth.token.cache.size", tokenCache, VerifiedTokenCache::size).register(registry);
+
+        FunctionCounter.builder("auth.principal.cache.requests", principalCache, UserPrincipalCache::getHitCount)
+                .tag("result", "hit").register(registry);
+        FunctionCounter.builder("auth.principal.cache.requests", principalCache, UserPrincipalCache::getMissCount)
+                .tag("result", "miss").register(registry);
+        FunctionCounter.builder("auth.principal.cache.loads", principalCache, UserPrincipalCache::getLoadCount)
+                .register(registry);
+        Gauge.builder("auth.principal.cache.size", principalCache, UserPrincipalCache::size).register(registry);
+
+        Gauge.builder("auth.hashing.queue.depth", hashingExecutor, PasswordHashingExecutor::getQueueDepth).register(registry);
+        Gauge.builder("auth.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount).register(registry);
+        FunctionCounter.builder("auth.hashing.completed", hashingExecutor, PasswordHashingExecutor::getCompletedCount)
+                .register(registry);
+        FunctionCounter.builder("auth.hashing.rejected", hashingExecutor, PasswordHashingExecutor::getRejectedCount)
+                .register(registry);
+        FunctionCounter.builder("auth.hashing.queue.wait", hashingExecutor,
+                        executor -> executor.getTotalWaitNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .baseUnit("seconds")
+                .register(registry);
+
+        FunctionCounter.builder("auth.email.filter.definite.misses", emailFilter, EmailMembershipFilter::getDefiniteMissCount)
+                .register(registry);
+        Gauge.builder("auth.email.filter.elements", emailFilter, EmailMembershipFilter::getElementCount).register(registry);
+
+        Gauge.builder("auth.revocation.denylist.size", denylist, TokenDenylist::size).register(registry);
+
+        FunctionCounter.builder("auth.login.throttled", loginThrottle, LoginThrottle::getRejectedByIpCount)
+                .tag("key", "ip").register(registry);
+        FunctionCounter.builder("auth.login.throttled", loginThrottle, LoginThrottle::getRejectedByEmailCount)
+                .tag("key", "email").register(registry);
+        Gauge.builder("auth.login.throttle.keys", loginThrottle, LoginThrottle::getTrackedKeys).register(registry);
+
+        FunctionCounter.builder("auth.audit.events", auditLog, AuditLog::getWrittenCount)
+                .tag("result", "written").register(registry);
+        FunctionCounter.builder("auth.audit.events", auditLog, AuditLog::getDroppedCount)
+                .tag("result", "dropped").register(registry);
+        Gauge.builder("auth.audit.pending", auditLog, AuditLog::getPendingCount).register(registry);
+
+        Gauge.builder("auth.login.activity.pending", loginActivityRecorder, LoginActivityRecorder::getPendingCount)
+                .register(registry);
+        FunctionCounter.builder("auth.login.activity.rows", loginActivityRecorder, LoginActivityRecorder::getRowsWrittenCount)
+                .register(registry);
+    }
+}
@@ -0,0 +1,142 @@
+package com.estagiarios.e_commerce.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timers das fases de login, registro e autenticação por token.
+ * Todos são registrados na construção: no caminho quente só há {@code System.nanoTime()}
+ * e um {@link Timer#record}, sem montar tags nem consultar o registry.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum LoginOutcome {
+        SUCCESS, BAD_CREDENTIALS, UNKNOWN_USER, THROTTLED, SATURATED, ERROR
+    }
+
+    public enum RegisterOutcome {
+        CREATED, DUPLICATE, INVALID, SATURATED, ERROR
+    }
+
+    /**
+     * Rehash de senha após o login: {@code CONFLICT} quando o hash mudou entre a leitura e o UPDATE
+     */
+    public enum RehashOutcome {
+        UPGRADED, CONFLICT
+    }
+
+    private final Map<LoginOutcome, Timer> login = new EnumMap<>(LoginOutcome.class);
+    private final Map<RegisterOutcome, Timer> register = new EnumMap<>(RegisterOutcome.class);
+    private final Map<RehashOutcome, Counter> rehash = new EnumMap<>(RehashOutcome.class);
+    private final Timer userLookup;
+    private final Timer passwordEncode;
+    private final Timer passwordMatches;
+    private final Timer tokenSign;
+    private final Timer tokenVerify;
+    private final Timer filter;
+    private final Timer introspection;
+    private final Counter introspectedActive;
+    private final Counter introspectedInactive;
+
+    public AuthMetrics(MeterRegistry registry) {
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            login.put(outcome, Timer.builder("auth.login")
+                    .description("Duração total de POST /api/auth/login por resultado")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+        for (RegisterOutcome outcome : RegisterOutcome.values()) {
+            register.put(outcome, Timer.builder("auth.register")
+                    .description("Duração total de POST /api/auth/register por resultado")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+        for (RehashOutcome outcome : RehashOutcome.values()) {
+            rehash.put(outcome, Counter.builder("auth.password.rehash")
+                    .description("Hashes de senha regravados com o algoritmo e custo atuais")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry));
+        }
+        this.userLookup = Timer.builder("auth.user.lookup")
+                .description("Busca do usuário por email durante o login")
+                .register(registry);
+        this.passwordEncode = Timer.builder("auth.password.hash")
+                .description("Tempo de CPU do hash de senha")
+                .tag("operation", "encode")
+                .register(registry);
+        this.passwordMatches = Timer.builder("auth.password.hash")
+                .description("Tempo de CPU do hash de senha")
+                .tag("operation", "matches")
+                .register(registry);
+        this.tokenSign = Timer.builder("auth.token.sign")
+                .description("Emissão e assinatura de um access token")
+                .register(registry);
+        this.tokenVerify = Timer.builder("auth.token.verify")
+                .description("Parse e verificação de assinatura de um access token (falta no cache)")
+                .register(registry);
+        this.filter = Timer.builder("auth.filter")
+                .description("Tempo gasto no JwtAuthenticationFilter por requisição")
+                .register(registry);
+        this.introspection = Timer.builder("auth.introspection")
+                .description("Duração de um lote de POST /api/internal/introspect")
+                .register(registry);
+        this.introspectedActive = Counter.builder("auth.introspection.tokens")
+                .description("Tokens verificados por introspecção")
+                .tag("active", "true")
+                .register(registry);
+        this.introspectedInactive = Counter.builder("auth.introspection.tokens")
+                .description("Tokens verificados por introspecção")
+                .tag("active", "false")
+                .register(registry);
+    }
+
+    public void recordLogin(LoginOutcome outcome, long startNanos) {
+        login.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRegister(RegisterOutcome outcome, long startNanos) {
+        register.get(outcome).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRehash(RehashOutcome outcome) {
+        rehash.get(outcome).increment();
+    }
+
+    public void recordFilter(long startNanos) {
+        filter.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordIntrospection(int tokens, int active, long startNanos) {
+        introspection.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        introspectedActive.increment(active);
+        introspectedInactive.increment(tokens - active);
+    }
+
+    public <T> T timeUserLookup(Supplier<T> lookup) {
+        return userLookup.record(lookup);
+    }
+
+    public <T> T timeTokenSign(Supplier<T> sign) {
+        return tokenSign.record(sign);
+    }
+
+    public <T> T timeTokenVerify(Supplier<T> verify) {
+        return tokenVerify.record(verify);
+    }
+
+    Timer passwordEncodeTimer() {
+        return passwordEncode;
+    }
+
+    Timer passwordMatchesTimer() {
+        return passwordMatches;
+    }
+}
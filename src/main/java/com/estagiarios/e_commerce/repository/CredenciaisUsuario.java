@@ -0,0 +1,10 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.entity.Role;
+
+/**
+ * Linha das consultas de autenticação: só as colunas que o principal usa, com uma linha
+ * por role (left join em {@code usuario_roles}, então {@code role} pode ser nulo)
+ */
+public record CredenciaisUsuario(Long id, String email, String senha, int versaoCredenciais, Role role) {
+}
@@ -0,0 +1,105 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.entity.Role;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acesso a usuários via R2DBC para o modo reativo, com as mesmas consultas do
+ * {@link UsuarioRepository} usadas na autenticação. O gerenciador de transações R2DBC é
+ * local: registrado como bean, disputaria o {@code @Transactional} dos services JPA.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUsuarioRepository {
+
+    private static final String CREDENCIAIS_SQL = "select u.id, u.email, u.senha, u.versao_credenciais, r.role "
+            + "from usuarios u left join usuario_roles r on r.usuario_id = u.id ";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveUsuarioRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Credenciais e roles para o login em uma única instrução (uma linha por role)
+     */
+    public Flux<CredenciaisUsuario> findCredenciaisByEmail(String email) {
+        return databaseClient.sql(CREDENCIAIS_SQL + "where u.email = :email")
+                .bind("email", email)
+                .map(ReactiveUsuarioRepository::credenciais)
+                .all();
+    }
+
+    /**
+     * Credenciais e roles para montar o principal de um token em uma única instrução
+     */
+    public Flux<CredenciaisUsuario> findCredenciaisById(Long id) {
+        return databaseClient.sql(CREDENCIAIS_SQL + "where u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUsuarioRepository::credenciais)
+                .all();
+    }
+
+    /**
+     * Troca o hash da senha só se ainda for o lido no login
+     *
+     * @return 1 se trocou, 0 se o hash mudou nesse intervalo
+     */
+    public Mono<Long> atualizarHashSenha(Long id, String hashAtual, String novoHash) {
+        return databaseClient.sql("update usuarios set senha = :novoHash where id = :id and senha = :hashAtual")
+                .bind("novoHash", novoHash)
+                .bind("id", id)
+                .bind("hashAtual", hashAtual)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Insere o usuário com a role USER em uma transação.
+     * O id vem da mesma sequence do Hibernate; como ela avança em blocos de 50 e o
+     * Hibernate só usa os ids do bloco que ele mesmo reservou, o valor obtido aqui é livre.
+     *
+     * @return id gerado; email duplicado falha com {@code DataIntegrityViolationException}
+     */
+    public Mono<Long> inserir(String nome, String email, String senha) {
+        Mono<Long> insert = databaseClient.sql("select nextval('usuarios_seq')")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(id -> databaseClient.sql("insert into usuarios "
+                                + "(id, nome, email, senha, versao_credenciais, tentativas_falhas) "
+                                + "values (:id, :nome, :email, :senha, 0, 0)")
+                        .bind("id", id)
+                        .bind("nome", nome)
+                        .bind("email", email)
+                        .bind("senha", senha)
+                        .then()
+                        .then(databaseClient.sql("insert into usuario_roles (usuario_id, role) values (:id, :role)")
+                                .bind("id", id)
+                                .bind("role", Role.USER.name())
+                                .then())
+                        .thenReturn(id));
+        return transactionalOperator.transactional(insert);
+    }
+
+    private static CredenciaisUsuario credenciais(Readable row) {
+        String role = row.get("role", String.class);
+        Integer versao = row.get("versao_credenciais", Integer.class);
+        return new CredenciaisUsuario(
+                row.get("id", Long.class),
+                row.get("email", String.class),
+                row.get("senha", String.class),
+                versao == null ? 0 : versao,
+                role == null ? null : Role.valueOf(role));
+    }
+}
@@ -0,0 +1,36 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marca o token como usado apenas se ninguém o usou antes; retorna 0 em caso de corrida
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usado = true where r.id = :id and r.usado = false and r.revogado = false")
+    int marcarComoUsado(@Param("id") Long id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revogado = true where r.familia = :familia and r.revogado = false")
+    int revogarFamilia(@Param("familia") String familia);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revogado = true where r.usuarioId = :usuarioId and r.revogado = false")
+    int revogarTodosDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiraEm < :limite")
+    int removerExpiradosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,12 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha da listagem administrativa, uma por role (left join em {@code usuario_roles},
+ * então {@code role} pode ser nulo)
+ */
+public record ResumoUsuarioLinha(Long id, String nome, String email, LocalDateTime ultimoLogin, Role role) {
+}
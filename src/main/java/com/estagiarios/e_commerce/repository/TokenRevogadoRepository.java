@@ -0,0 +1,30 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.entity.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, UUID> {
+
+    /**
+     * Revogações ainda relevantes, isto é, de tokens que não expiraram
+     */
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime agora);
+
+    /**
+     * Revogações feitas por outras instâncias desde a última sincronização
+     */
+    List<TokenRevogado> findByRevogadoEmGreaterThanEqualAndExpiraEmAfter(LocalDateTime desde, LocalDateTime agora);
+
+    @Modifying
+    @Query("delete from TokenRevogado t where t.expiraEm < :limite")
+    int removerExpiradosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -1,14 +1,89 @@
 package com.estagiarios.e_commerce.repository;
 
+import com.estagiarios.e_commerce.entity.Role;
 import com.estagiarios.e_commerce.entity.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Optional<Usuario> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Credenciais e roles para o login em uma única instrução, sem carregar a entidade
+     */
+    @Query("select new com.estagiarios.e_commerce.repository.CredenciaisUsuario("
+            + "u.id, u.email, u.senha, u.versaoCredenciais, r) "
+            + "from Usuario u left join u.roles r where u.email = :email")
+    List<CredenciaisUsuario> findCredenciaisByEmail(@Param("email") String email);
+
+    /**
+     * Credenciais e roles para montar o principal de um token em uma única instrução
+     */
+    @Query("select new com.estagiarios.e_commerce.repository.CredenciaisUsuario("
+            + "u.id, u.email, u.senha, u.versaoCredenciais, r) "
+            + "from Usuario u left join u.roles r where u.id = :id")
+    List<CredenciaisUsuario> findCredenciaisById(@Param("id") Long id);
+
+    /**
+     * Troca o hash da senha só se ainda for o lido no login, sem carregar a entidade
+     *
+     * @return 1 se trocou, 0 se o hash mudou nesse intervalo
+     */
+    @Modifying
+    @Query("update Usuario u set u.senha = :novoHash where u.id = :id and u.senha = :hashAtual")
+    int atualizarHashSenha(@Param("id") Long id, @Param("hashAtual") String hashAtual,
+                           @Param("novoHash") String novoHash);
+
+    @Query("select u.email from Usuario u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Lê todos os emails em streaming; deve ser consumido dentro de uma transação e fechado
+     */
+    @Query("select u.email from Usuario u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Momento do último cadastro pelo relógio do banco, ou o horário atual se não houver usuários
+     */
+    @Query("select coalesce(max(u.criadoEm), local datetime) from Usuario u")
+    LocalDateTime findUltimoCadastro();
+
+    @Query("select u.email from Usuario u where u.criadoEm > :desde")
+    List<String> findEmailsCadastradosDepoisDe(@Param("desde") LocalDateTime desde);
+
+    /**
+     * Página de ids por keyset: os próximos {@code limit} ids depois de {@code depoisDe},
+     * lidos direto do índice da chave primária, sem OFFSET
+     */
+    @Query("select u.id from Usuario u where u.id > :depoisDe order by u.id")
+    List<Long> findIdsDepoisDe(@Param("depoisDe") long depoisDe, Limit limit);
+
+    /**
+     * Como {@link #findIdsDepoisDe}, só usuários com a role (índice {@code idx_usuario_roles_role})
+     */
+    @Query("select u.id from Usuario u join u.roles r where r = :role and u.id > :depoisDe order by u.id")
+    List<Long> findIdsComRoleDepoisDe(@Param("depoisDe") long depoisDe, @Param("role") Role role, Limit limit);
+
+    @Query("select new com.estagiarios.e_commerce.repository.ResumoUsuarioLinha("
+            + "u.id, u.nome, u.email, u.ultimoLogin, r) "
+            + "from Usuario u left join u.roles r where u.id in :ids order by u.id")
+    List<ResumoUsuarioLinha> findResumos(@Param("ids") Collection<Long> ids);
 }
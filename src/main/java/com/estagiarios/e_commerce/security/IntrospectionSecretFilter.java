@@ -0,0 +1,60 @@
+package com.estagiarios.e_commerce.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Autentica os serviços internos ({@code /api/internal/**}) pelo segredo compartilhado em
+ * {@value #SECRET_HEADER}, antes de o corpo da requisição ser lido: chamadas sem o segredo
+ * recebem 403 sem que o lote seja desserializado e validado.
+ * Segredo vazio ou só com espaços conta como não configurado, e então todas as chamadas são recusadas.
+ */
+@Slf4j
+public class IntrospectionSecretFilter extends OncePerRequestFilter {
+
+    public static final String SECRET_HEADER = "X-Introspection-Secret";
+
+    private static final RequestMatcher INTERNAL = new AntPathRequestMatcher("/api/internal/**");
+
+    private final byte[] secret;
+
+    public IntrospectionSecretFilter(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.introspection.secret não configurado: /api/internal/introspect desabilitado");
+            this.secret = null;
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !INTERNAL.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!autorizado(request.getHeader(SECRET_HEADER))) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean autorizado(String secretInformado) {
+        // Comparação em tempo constante
+        return secret != null && secretInformado != null
+                && MessageDigest.isEqual(secret, secretInformado.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,7 @@
 package com.estagiarios.e_commerce.security;
 
 
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
 import com.estagiarios.e_commerce.service.UsuarioService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,28 +23,47 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider tokenProvider;
+    /**
+     * Atributo da requisição com o {@link VerifiedToken} que autenticou a chamada
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".TOKEN";
+
+    private final VerifiedTokenCache tokenCache;
+    private final TokenDenylist denylist;
     private final UsuarioService usuarioService;
+    private final AuthMetrics authMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        long start = System.nanoTime();
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+            VerifiedToken token = StringUtils.hasText(jwt) ? tokenCache.verify(jwt) : null;
+
+            if (token != null && denylist.isRevoked(token)) {
+                log.debug("Token revogado recebido para o usuário {}", token.userId());
+                token = null;
+            }
+
+            UserDetails userDetails = null;
+            if (token != null) {
+                userDetails = usuarioService.loadUserForToken(token.userId(), token.credentialsVersion());
+            }
 
-                UserDetails userDetails = usuarioService.loadUserById(userId);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
         }
+        authMetrics.recordFilter(start);
 
         filterChain.doFilter(request, response);
     }
@@ -1,7 +1,12 @@
 package com.estagiarios.e_commerce.security;
 
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -9,84 +14,98 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
+@Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private final AuthMetrics authMetrics;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private int jwtExpirationInMs;
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    /**
+     * Monta a chave e o parser uma única vez; ambos são imutáveis e thread-safe
+     */
+    @PostConstruct
+    void init() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     public String generateToken(Authentication authentication) {
-        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        return generateToken((UserPrincipal) authentication.getPrincipal());
+    }
+
+    public String generateToken(UserPrincipal userPrincipal) {
+        return authMetrics.timeTokenSign(() -> buildToken(userPrincipal));
+    }
+
+    private String buildToken(UserPrincipal userPrincipal) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(Long.toString(userPrincipal.getId()))
-                .claim("roles", userPrincipal.getAuthorities().stream()
-                        .map(authority -> authority.getAuthority())
-                        .toList())
+                .claim(VerifiedToken.ROLE_MASK_CLAIM, userPrincipal.getRoleMask())
+                .claim("ver", userPrincipal.getVersaoCredenciais())
                 .issuedAt(new Date())
                 .expiration(expiryDate)
                 .signWith(getSigningKey())
                 .compact();
     }
 
-    public String generateTokenFromUserDetails(Long userId, List<String> roles) {
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
+    /**
+     * Parseia o token e verifica a assinatura em uma única passada
+     *
+     * @return claims verificadas ou {@code null} se o token for inválido ou expirado
+     */
+    @Nullable
+    public VerifiedToken verifyToken(String token) {
+        return authMetrics.timeTokenVerify(() -> parseVerifiedToken(token));
+    }
 
-        return Jwts.builder()
-                .subject(Long.toString(userId))
-                .claim("roles", roles)
-                .issuedAt(new Date())
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    @Nullable
+    private VerifiedToken parseVerifiedToken(String token) {
+        try {
+            return VerifiedToken.from(parseClaims(token));
+        } catch (ExpiredJwtException ex) {
+            log.debug("Expired JWT token");
+        } catch (JwtException ex) {
+            log.debug("Invalid JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            log.debug("JWT claims string is empty.");
+        }
+        return null;
     }
 
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return Long.parseLong(claims.getSubject());
+        return Long.parseLong(parseClaims(token).getSubject());
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("roles", List.class);
+        return RoleMask.authorityNames(VerifiedToken.roleMask(parseClaims(token)));
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty.");
-        }
-        return false;
+        return verifyToken(authToken) != null;
+    }
+
+    private Claims parseClaims(String token) {
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
-}
\ No newline at end of file
+}
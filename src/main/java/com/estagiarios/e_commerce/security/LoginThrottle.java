@@ -0,0 +1,82 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.util.EmailUtils;
+import com.estagiarios.e_commerce.util.GcraRateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita tentativas de login por IP e por email antes de qualquer trabalho de BCrypt.
+ * O limite por IP contém um cliente testando muitos emails; o limite por email contém
+ * vários IPs atacando a mesma conta. Atrás de proxy, o IP só é o do cliente com
+ * {@code server.forward-headers-strategy} configurado.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final GcraRateLimiter byIp;
+    private final GcraRateLimiter byEmail;
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    public LoginThrottle(@Value("${app.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.login-throttle.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.login-throttle.ip.refill-per-minute:60}") int ipRefillPerMinute,
+                         @Value("${app.login-throttle.email.capacity:5}") int emailCapacity,
+                         @Value("${app.login-throttle.email.refill-per-minute:5}") int emailRefillPerMinute,
+                         @Value("${app.login-throttle.max-keys:100000}") int maxKeys,
+                         @Value("${app.login-throttle.overflow-stripes:4096}") int overflowStripes) {
+        this.enabled = enabled;
+        this.byIp = new GcraRateLimiter(ipCapacity, ipRefillPerMinute, maxKeys, overflowStripes);
+        this.byEmail = new GcraRateLimiter(emailCapacity, emailRefillPerMinute, maxKeys, overflowStripes);
+    }
+
+    /**
+     * Registra uma tentativa de login
+     *
+     * @return 0 se a tentativa pode seguir; caso contrário, nanossegundos até a próxima permitida
+     */
+    public long tryAcquire(String email, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long wait = byIp.tryAcquire(clientIp != null ? clientIp : "", now);
+        if (wait > 0) {
+            rejectedByIp.increment();
+            return wait;
+        }
+        wait = byEmail.tryAcquire(email != null ? EmailUtils.normalize(email) : "", now);
+        if (wait > 0) {
+            rejectedByEmail.increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${app.login-throttle.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int removidos = byIp.evictIdle(now) + byEmail.evictIdle(now);
+        if (removidos > 0) {
+            log.debug("Limitador de login: {} chaves ociosas removidas", removidos);
+        }
+    }
+
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    public long getRejectedByEmailCount() {
+        return rejectedByEmail.sum();
+    }
+
+    public int getTrackedKeys() {
+        return byIp.size() + byEmail.size();
+    }
+}
@@ -0,0 +1,75 @@
+package com.estagiarios.e_commerce.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Escolhe o custo do hash de senha pelo tempo medido nesta máquina.
+ * Mede apenas o custo mínimo e extrapola: no BCrypt cada ponto de strength dobra o tempo,
+ * no Argon2 o tempo cresce linearmente com as iterações. Assim a calibração custa poucos
+ * hashes baratos na subida.
+ */
+public final class PasswordCostCalibrator {
+
+    public static final int ARGON2_SALT_LENGTH = 16;
+    public static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final String SAMPLE_PASSWORD = "calibracao-Senha@123";
+    private static final int SAMPLES = 3;
+
+    private PasswordCostCalibrator() {
+    }
+
+    /**
+     * Maior strength do BCrypt cujo hash cabe no orçamento, entre {@code min} e {@code max}
+     */
+    public static int bcryptStrength(Duration budget, int min, int max) {
+        PasswordEncoder probe = new BCryptPasswordEncoder(min);
+        return bcryptStrength(budget, measureNanos(probe), min, max);
+    }
+
+    static int bcryptStrength(Duration budget, long nanosAtMin, int min, int max) {
+        long nanos = nanosAtMin;
+        int strength = min;
+        while (strength < max && nanos * 2 <= budget.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Maior número de iterações do Argon2, com memória e paralelismo fixos, cujo hash cabe
+     * no orçamento, entre {@code min} e {@code max}
+     */
+    public static int argon2Iterations(Duration budget, int memoryKib, int parallelism, int min, int max) {
+        PasswordEncoder probe = new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                parallelism, memoryKib, min);
+        return argon2Iterations(budget, measureNanos(probe), min, max);
+    }
+
+    static int argon2Iterations(Duration budget, long nanosAtMin, int min, int max) {
+        long nanosPerIteration = Math.max(1, nanosAtMin / min);
+        long iterations = budget.toNanos() / nanosPerIteration;
+        return (int) Math.max(min, Math.min(max, iterations));
+    }
+
+    /**
+     * Mediana de alguns hashes após um de aquecimento
+     */
+    private static long measureNanos(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,72 @@
+package com.estagiarios.e_commerce.security;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Algoritmo e parâmetros de custo de um hash de senha.
+ * {@code cost} é o strength do BCrypt ou o número de iterações do Argon2;
+ * {@code memoryKib} e {@code parallelism} só valem para o Argon2.
+ */
+public record PasswordHashSpec(String algorithm, int cost, int memoryKib, int parallelism) {
+
+    /** Ids do {@code DelegatingPasswordEncoder}, gravados como prefixo {@code {id}} no hash */
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String UNKNOWN = "unknown";
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final Pattern ARGON2_HASH = Pattern.compile("^\\$argon2(?:id|i|d)\\$v=\\d+\\$m=(\\d+),t=(\\d+),p=(\\d+)");
+
+    public static PasswordHashSpec bcrypt(int strength) {
+        return new PasswordHashSpec(BCRYPT, strength, 0, 0);
+    }
+
+    public static PasswordHashSpec argon2(int iterations, int memoryKib, int parallelism) {
+        return new PasswordHashSpec(ARGON2, iterations, memoryKib, parallelism);
+    }
+
+    /**
+     * Lê algoritmo e parâmetros de um hash armazenado, com ou sem o prefixo {@code {id}}.
+     * Basta o início do hash (até os parâmetros); o salt e o digest não são lidos.
+     */
+    public static PasswordHashSpec of(String encoded) {
+        String hash = encoded == null ? "" : encoded;
+        if (hash.startsWith("{")) {
+            int end = hash.indexOf('}');
+            if (end > 0) {
+                hash = hash.substring(end + 1);
+            }
+        }
+        Matcher bcrypt = BCRYPT_HASH.matcher(hash);
+        if (bcrypt.find()) {
+            return bcrypt(Integer.parseInt(bcrypt.group(1)));
+        }
+        Matcher argon2 = ARGON2_HASH.matcher(hash);
+        if (argon2.find()) {
+            return argon2(Integer.parseInt(argon2.group(2)), Integer.parseInt(argon2.group(1)),
+                    Integer.parseInt(argon2.group(3)));
+        }
+        return new PasswordHashSpec(UNKNOWN, 0, 0, 0);
+    }
+
+    /**
+     * Indica se um hash com estes parâmetros dispensa o rehash para o alvo: mesmo algoritmo
+     * e custo (e memória, no Argon2) não inferiores, a mesma regra do {@code upgradeEncoding}
+     * dos encoders do Spring Security
+     */
+    public boolean satisfies(PasswordHashSpec target) {
+        return algorithm.equals(target.algorithm) && cost >= target.cost && memoryKib >= target.memoryKib;
+    }
+
+    /**
+     * Parâmetros no formato usado como tag das métricas: {@code 12} ou {@code m=19456,t=2,p=1}
+     */
+    public String parameters() {
+        return switch (algorithm) {
+            case BCRYPT -> Integer.toString(cost);
+            case ARGON2 -> "m=" + memoryKib + ",t=" + cost + ",p=" + parallelism;
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.exception.PasswordHashingSaturatedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Pool dedicado para o trabalho de BCrypt (hash e verificação de senhas).
+ * O pool tem uma thread por núcleo e uma fila limitada: quando ela enche a tarefa é
+ * rejeitada na hora, em vez de prender as threads do Tomcat atrás do BCrypt.
+ * No modo reativo o mesmo pool é usado por {@link #submit}, sem bloquear o event loop.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public PasswordHashingExecutor(@Value("${app.password-hashing.threads:0}") int threads,
+                                   @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+                                   @Value("${app.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("Pool de hashing de senhas iniciado com {} threads e fila de {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Executa a tarefa no pool de hashing e aguarda o resultado
+     *
+     * @throws PasswordHashingSaturatedException se a fila estiver cheia ou o tempo limite for excedido
+     */
+    public <T> T execute(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                recordWait(System.nanoTime() - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordHashingSaturatedException("Pool de hashing de senhas saturado");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new PasswordHashingSaturatedException("Tempo limite excedido aguardando o pool de hashing");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new PasswordHashingSaturatedException("Interrompido aguardando o pool de hashing");
+        }
+    }
+
+    /**
+     * Versão não bloqueante de {@link #execute}: a tarefa roda no pool de hashing e o resultado
+     * é emitido a partir da thread do pool. Fila cheia e tempo limite viram
+     * {@link PasswordHashingSaturatedException}; o cancelamento retira a tarefa da fila.
+     */
+    public <T> Mono<T> submit(Supplier<T> task) {
+        return Mono.<T>create(sink -> {
+            long submittedAt = System.nanoTime();
+            Future<?> future;
+            try {
+                future = executor.submit(() -> {
+                    recordWait(System.nanoTime() - submittedAt);
+                    try {
+                        sink.success(task.get());
+                    } catch (Throwable ex) {
+                        sink.error(ex);
+                    } finally {
+                        completed.increment();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                rejected.increment();
+                sink.error(new PasswordHashingSaturatedException("Pool de hashing de senhas saturado"));
+                return;
+            }
+            sink.onCancel(() -> future.cancel(true));
+        }).timeout(Duration.ofMillis(timeoutMillis), Mono.error(() ->
+                new PasswordHashingSaturatedException("Tempo limite excedido aguardando o pool de hashing")));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Tempo total que as tarefas passaram na fila antes de começar a executar
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.estagiarios.e_commerce.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Decora o {@link PasswordEncoder} executando encode e matches no {@link PasswordHashingExecutor}.
+ * Usado no {@code DaoAuthenticationProvider}: só o BCrypt ocupa as threads de hashing; a busca do
+ * usuário e o UPDATE do rehash continuam na thread da requisição.
+ *
+ * @throws com.estagiarios.e_commerce.exception.PasswordHashingSaturatedException se o pool estiver saturado
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return Boolean.TRUE.equals(executor.execute(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
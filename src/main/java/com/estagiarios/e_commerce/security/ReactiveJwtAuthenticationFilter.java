@@ -0,0 +1,75 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.service.ReactiveUsuarioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Versão WebFlux do {@link JwtAuthenticationFilter}, com as mesmas regras: token inválido,
+ * revogado ou de credenciais antigas segue sem autenticação (quem recusa é a autorização),
+ * e o {@link VerifiedToken} fica no atributo {@link JwtAuthenticationFilter#VERIFIED_TOKEN_ATTRIBUTE}.
+ * A verificação usa o mesmo cache de tokens; o principal vem do cache ou do R2DBC.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final VerifiedTokenCache tokenCache;
+    private final TokenDenylist denylist;
+    private final ReactiveUsuarioService usuarioService;
+    private final AuthMetrics authMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long start = System.nanoTime();
+        VerifiedToken token = verify(exchange);
+        if (token == null) {
+            authMetrics.recordFilter(start);
+            return chain.filter(exchange);
+        }
+        return usuarioService.loadUserForToken(token.userId(), token.credentialsVersion())
+                .onErrorResume(ex -> {
+                    log.error("Could not set user authentication in security context", ex);
+                    return Mono.empty();
+                })
+                .map(principal -> {
+                    exchange.getAttributes().put(JwtAuthenticationFilter.VERIFIED_TOKEN_ATTRIBUTE, token);
+                    return ReactiveSecurityContextHolder.withAuthentication(
+                            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+                })
+                .doOnTerminate(() -> authMetrics.recordFilter(start))
+                // Emite depois que a cadeia termina, para o switchIfEmpty só valer sem principal
+                .flatMap(context -> chain.filter(exchange).contextWrite(context).thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.TRUE)))
+                .then();
+    }
+
+    private VerifiedToken verify(ServerWebExchange exchange) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(header) || !header.startsWith(BEARER)) {
+            return null;
+        }
+        try {
+            VerifiedToken token = tokenCache.verify(header.substring(BEARER.length()));
+            if (token != null && denylist.isRevoked(token)) {
+                log.debug("Token revogado recebido para o usuário {}", token.userId());
+                return null;
+            }
+            return token;
+        } catch (Exception ex) {
+            log.error("Could not set user authentication in security context", ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.exception.StacklessBadCredentialsException;
+import com.estagiarios.e_commerce.service.ReactiveUsuarioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Login por email e senha no modo reativo, equivalente ao
+ * {@link StacklessDaoAuthenticationProvider}: a conferência da senha (e o rehash de hashes
+ * desatualizados) roda no pool de hashing, e senha incorreta é sinalizada sem stack trace.
+ */
+@RequiredArgsConstructor
+public class ReactivePasswordAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
+    private final ReactiveUsuarioService usuarioService;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String senha = authentication.getCredentials() == null ? null : authentication.getCredentials().toString();
+        return usuarioService.findByUsername(authentication.getName())
+                .cast(UserPrincipal.class)
+                .flatMap(principal -> passwordHashingExecutor.submit(() -> conferir(principal, senha)))
+                .flatMap(conferencia -> conferencia.novoHash() == null
+                        ? Mono.just(conferencia.principal())
+                        : usuarioService.updatePassword(conferencia.principal(), conferencia.novoHash()))
+                .map(principal -> UsernamePasswordAuthenticationToken.authenticated(
+                        principal, null, principal.getAuthorities()));
+    }
+
+    /**
+     * Confere a senha e, se o hash estiver desatualizado, já calcula o novo na mesma tarefa
+     */
+    private Conferencia conferir(UserPrincipal principal, String senha) {
+        if (senha == null || !passwordEncoder.matches(senha, principal.getPassword())) {
+            throw new StacklessBadCredentialsException(BAD_CREDENTIALS);
+        }
+        String novoHash = passwordEncoder.upgradeEncoding(principal.getPassword()) ? passwordEncoder.encode(senha) : null;
+        return new Conferencia(principal, novoHash);
+    }
+
+    private record Conferencia(UserPrincipal principal, String novoHash) {
+    }
+}
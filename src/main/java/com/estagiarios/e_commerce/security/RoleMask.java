@@ -0,0 +1,93 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Conjunto de roles codificado como bitmask ({@link Role#bit()}).
+ * Como existem poucas roles, as coleções de todas as combinações são montadas uma única
+ * vez e compartilhadas: montar o principal ou ler as roles do token não aloca nada.
+ */
+public final class RoleMask {
+
+    private static final Role[] ROLES = Role.values();
+    private static final int COMBINATIONS = 1 << ROLES.length;
+
+    /**
+     * Todos os bits de roles conhecidas; bits fora dele são ignorados
+     */
+    public static final int ALL = COMBINATIONS - 1;
+
+    private static final List<Set<Role>> ROLE_SETS;
+    private static final List<List<GrantedAuthority>> AUTHORITIES;
+    private static final List<List<String>> AUTHORITY_NAMES;
+
+    static {
+        List<Set<Role>> roleSets = new ArrayList<>(COMBINATIONS);
+        List<List<GrantedAuthority>> authorities = new ArrayList<>(COMBINATIONS);
+        List<List<String>> names = new ArrayList<>(COMBINATIONS);
+        for (int mask = 0; mask < COMBINATIONS; mask++) {
+            EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+            for (Role role : ROLES) {
+                if ((mask & role.bit()) != 0) {
+                    roles.add(role);
+                }
+            }
+            roleSets.add(Set.copyOf(roles));
+            authorities.add(roles.stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.getAuthority()))
+                    .toList());
+            names.add(roles.stream().map(Role::getAuthority).toList());
+        }
+        ROLE_SETS = List.copyOf(roleSets);
+        AUTHORITIES = List.copyOf(authorities);
+        AUTHORITY_NAMES = List.copyOf(names);
+    }
+
+    private RoleMask() {
+    }
+
+    public static int of(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Converte a lista de authorities do formato antigo do token ({@code ["ROLE_USER", ...]});
+     * nomes desconhecidos são ignorados
+     */
+    public static int fromAuthorityNames(Collection<?> names) {
+        int mask = 0;
+        for (Object name : names) {
+            for (Role role : ROLES) {
+                if (role.getAuthority().equals(name)) {
+                    mask |= role.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static Set<Role> roles(int mask) {
+        return ROLE_SETS.get(mask & ALL);
+    }
+
+    public static List<GrantedAuthority> authorities(int mask) {
+        return AUTHORITIES.get(mask & ALL);
+    }
+
+    public static List<String> authorityNames(int mask) {
+        return AUTHORITY_NAMES.get(mask & ALL);
+    }
+}
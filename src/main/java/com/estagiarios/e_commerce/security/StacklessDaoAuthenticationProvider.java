@@ -0,0 +1,25 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.exception.StacklessBadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link DaoAuthenticationProvider} que sinaliza senha incorreta com
+ * {@link StacklessBadCredentialsException}, sem montar stack trace a cada tentativa falha.
+ * A conferência da senha é a mesma da classe base.
+ */
+public class StacklessDaoAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private static final String BAD_CREDENTIALS = "Bad credentials";
+
+    @Override
+    protected void additionalAuthenticationChecks(UserDetails userDetails,
+                                                  UsernamePasswordAuthenticationToken authentication) {
+        Object credentials = authentication.getCredentials();
+        if (credentials == null || !getPasswordEncoder().matches(credentials.toString(), userDetails.getPassword())) {
+            throw new StacklessBadCredentialsException(BAD_CREDENTIALS);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.estagiarios.e_commerce.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lista em memória dos {@code jti} revogados, agrupados em baldes pela expiração do token.
+ * Os baldes formam um anel que cobre a vida máxima de um access token; quando todos os
+ * tokens de um balde já expiraram, o balde inteiro é descartado de uma vez.
+ * A consulta por requisição é O(1) e não aloca: o jti já vem decomposto em dois longs.
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> ring;
+
+    public TokenDenylist(@Value("${app.revocation.bucket-seconds:300}") long bucketSeconds,
+                         @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.bucketMillis = bucketSeconds * 1000;
+        this.ring = new AtomicReferenceArray<>((int) (tokenLifetimeMs / bucketMillis) + 2);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (!token.hasJti()) {
+            return false;
+        }
+        long epochBucket = token.expiresAt() / bucketMillis;
+        Bucket bucket = ring.get(slot(epochBucket));
+        return bucket != null && bucket.epochBucket == epochBucket && bucket.contains(token.jtiHigh(), token.jtiLow());
+    }
+
+    /**
+     * Adiciona o jti à lista; tokens já expirados são ignorados
+     *
+     * @return {@code true} se o jti ainda não estava na lista
+     */
+    public boolean revoke(long jtiHigh, long jtiLow, long expiresAt) {
+        if ((jtiHigh == 0 && jtiLow == 0) || expiresAt <= System.currentTimeMillis()) {
+            return false;
+        }
+        long epochBucket = expiresAt / bucketMillis;
+        int slot = slot(epochBucket);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epochBucket == epochBucket) {
+                return bucket.add(jtiHigh, jtiLow);
+            }
+            if (bucket != null && !isExpired(bucket, System.currentTimeMillis())) {
+                log.warn("Balde de revogação ainda válido sobrescrito; verifique jwt.expiration e app.revocation.bucket-seconds");
+            }
+            Bucket created = new Bucket(epochBucket);
+            if (ring.compareAndSet(slot, bucket, created)) {
+                return created.add(jtiHigh, jtiLow);
+            }
+        }
+    }
+
+    /**
+     * Descarta os baldes cujos tokens já expiraram
+     *
+     * @return quantidade de jti descartados
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null && isExpired(bucket, now) && ring.compareAndSet(i, bucket, null)) {
+                removed += bucket.size;
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null) {
+                total += bucket.size;
+            }
+        }
+        return total;
+    }
+
+    private boolean isExpired(Bucket bucket, long now) {
+        return (bucket.epochBucket + 1) * bucketMillis <= now;
+    }
+
+    private int slot(long epochBucket) {
+        return (int) (epochBucket % ring.length());
+    }
+
+    /**
+     * Tabela hash de endereçamento aberto com pares (high, low). Escritas são raras (logout)
+     * e copiam a tabela; leituras percorrem um array imutável sem travas.
+     */
+    private static final class Bucket {
+
+        private final long epochBucket;
+        private volatile long[] table = new long[32];
+        private volatile int size;
+
+        private Bucket(long epochBucket) {
+            this.epochBucket = epochBucket;
+        }
+
+        boolean contains(long high, long low) {
+            return indexOf(table, high, low) >= 0;
+        }
+
+        synchronized boolean add(long high, long low) {
+            long[] current = table;
+            if (indexOf(current, high, low) >= 0) {
+                return false;
+            }
+            int capacity = current.length / 2;
+            long[] next = new long[(size + 1) * 2 > capacity ? current.length * 2 : current.length];
+            for (int i = 0; i < current.length; i += 2) {
+                if (current[i] != 0 || current[i + 1] != 0) {
+                    insert(next, current[i], current[i + 1]);
+                }
+            }
+            insert(next, high, low);
+            size++;
+            table = next;
+            return true;
+        }
+
+        private static int indexOf(long[] table, long high, long low) {
+            int mask = table.length / 2 - 1;
+            int i = hash(high, low) & mask;
+            while (true) {
+                long h = table[i * 2];
+                long l = table[i * 2 + 1];
+                if (h == high && l == low) {
+                    return i;
+                }
+                if (h == 0 && l == 0) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+
+        private static void insert(long[] table, long high, long low) {
+            int mask = table.length / 2 - 1;
+            int i = hash(high, low) & mask;
+            while (table[i * 2] != 0 || table[i * 2 + 1] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i * 2] = high;
+            table[i * 2 + 1] = low;
+        }
+
+        private static int hash(long high, long low) {
+            long h = high ^ (low * 0x9E3779B97F4A7C15L);
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
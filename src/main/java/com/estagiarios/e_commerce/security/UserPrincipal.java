@@ -2,41 +2,73 @@ package com.estagiarios.e_commerce.security;
 
 import com.estagiarios.e_commerce.entity.Role;
 import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.repository.CredenciaisUsuario;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Data
 @AllArgsConstructor
 public class UserPrincipal implements UserDetails {
 
     private Long id;
+
+    /**
+     * Não é lido pelas consultas de autenticação ({@link #create(List)}); fica nulo nesse caso
+     */
     private String nome;
 
     private String email;
     private String senha;
-    private Set<Role> roles;
+    /**
+     * Roles como bitmask ({@link RoleMask}); as authorities são coleções pré-montadas
+     */
+    private int roleMask;
+    private int versaoCredenciais;
+
     public static  UserPrincipal create(Usuario usuario){
         return new UserPrincipal(
                 usuario.getId(),
                 usuario.getNome(),
                 usuario.getEmail(),
                 usuario.getSenha(),
-                usuario.getRoles()
+                RoleMask.of(usuario.getRoles()),
+                usuario.getVersaoCredenciais()
         );
     }
 
+    public Set<Role> getRoles() {
+        return RoleMask.roles(roleMask);
+    }
+
+    /**
+     * Monta o principal a partir das linhas de {@link CredenciaisUsuario} (uma por role)
+     *
+     * @return principal ou {@code null} se não houver linhas
+     */
+    public static UserPrincipal create(List<CredenciaisUsuario> credenciais) {
+        if (credenciais.isEmpty()) {
+            return null;
+        }
+        int roleMask = 0;
+        for (CredenciaisUsuario linha : credenciais) {
+            if (linha.role() != null) {
+                roleMask |= linha.role().bit();
+            }
+        }
+        CredenciaisUsuario primeira = credenciais.get(0);
+        return new UserPrincipal(primeira.id(), null, primeira.email(), primeira.senha(),
+                roleMask, primeira.versaoCredenciais());
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
-                .collect(Collectors.toList());
+        return RoleMask.authorities(roleMask);
     }
 
     @Override
@@ -0,0 +1,212 @@
+package com.estagiarios.e_commerce.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Cache concorrente e limitado de {@link UserPrincipal} por id de usuário.
+ * Entradas expiram por TTL e, quando o cache enche, as menos acessadas recentemente
+ * são descartadas. Misses simultâneos para o mesmo id compartilham uma única carga no banco.
+ */
+@Slf4j
+@Component
+public class UserPrincipalCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<UserPrincipal>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public UserPrincipalCache(@Value("${app.principal-cache.max-entries:10000}") int maxEntries,
+                              @Value("${app.principal-cache.ttl-ms:300000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Retorna o principal em cache ou o carrega com {@code loader}.
+     * Threads que pedem o mesmo id durante uma carga aguardam o mesmo resultado.
+     */
+    public UserPrincipal get(Long id, Function<Long, UserPrincipal> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(id);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            entry.lastAccess = now;
+            hits.increment();
+            return entry.principal;
+        }
+        misses.increment();
+        return load(id, loader);
+    }
+
+    /**
+     * Principal em cache, sem carregar; para cargas assíncronas, que não podem bloquear
+     * esperando {@link #get}. Nesse caminho misses simultâneos não compartilham a carga.
+     *
+     * @return principal ou {@code null} se ausente ou expirado
+     */
+    public UserPrincipal getIfPresent(Long id) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(id);
+        if (entry != null && now - entry.loadedAt < ttlMillis) {
+            entry.lastAccess = now;
+            hits.increment();
+            return entry.principal;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Marca de invalidações a ser lida antes de uma carga assíncrona e passada a {@link #putLoaded}
+     */
+    public long invalidationStamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Guarda um principal carregado fora do cache, a menos que tenha havido invalidação
+     * desde {@code stamp}
+     */
+    public void putLoaded(Long id, UserPrincipal principal, long stamp) {
+        loads.increment();
+        if (invalidations.get() == stamp) {
+            put(id, principal);
+        }
+    }
+
+    /**
+     * Descarta o principal do usuário; deve ser chamado quando roles ou senha mudam
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        entries.remove(id);
+        inFlight.remove(id);
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private UserPrincipal load(Long id, Function<Long, UserPrincipal> loader) {
+        CompletableFuture<UserPrincipal> pending = new CompletableFuture<>();
+        CompletableFuture<UserPrincipal> existing = inFlight.putIfAbsent(id, pending);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        long invalidationsBefore = invalidations.get();
+        try {
+            loads.increment();
+            UserPrincipal principal = loader.apply(id);
+            // Uma invalidação durante a carga pode ter tornado o resultado obsoleto
+            if (invalidations.get() == invalidationsBefore) {
+                put(id, principal);
+            }
+            pending.complete(principal);
+            return principal;
+        } catch (RuntimeException ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, pending);
+        }
+    }
+
+    private UserPrincipal await(CompletableFuture<UserPrincipal> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void put(Long id, UserPrincipal principal) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(id, new Entry(principal, System.currentTimeMillis()));
+    }
+
+    /**
+     * Remove entradas expiradas e, se necessário, os 10% menos acessados recentemente
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> now - entry.loadedAt >= ttlMillis);
+
+            int excess = entries.size() - (maxEntries - maxEntries / 10);
+            if (excess > 0) {
+                // Ordena uma cópia de lastAccess: o campo continua mudando nas requisições e
+                // ordenar pelo valor vivo pode quebrar o contrato do Comparator
+                List<Candidate> candidates = new ArrayList<>(entries.size());
+                entries.forEach((id, entry) -> candidates.add(new Candidate(id, entry, entry.lastAccess)));
+                candidates.sort(Comparator.comparingLong(Candidate::lastAccess));
+                for (int i = 0; i < excess && i < candidates.size(); i++) {
+                    Candidate victim = candidates.get(i);
+                    entries.remove(victim.id(), victim.entry());
+                }
+            }
+            log.debug("Cache de principals compactado, {} entradas restantes", entries.size());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private record Candidate(Long id, Entry entry, long lastAccess) {
+    }
+
+    private static final class Entry {
+        private final UserPrincipal principal;
+        private final long loadedAt;
+        private volatile long lastAccess;
+
+        private Entry(UserPrincipal principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.estagiarios.e_commerce.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Claims de um token JWT cuja assinatura já foi verificada.
+ *
+ * @param userId    id do usuário (claim {@code sub})
+ * @param roleMask  roles gravadas no token como bitmask (claim {@code rm}, ou a lista
+ *                  {@code roles} de tokens emitidos antes do bitmask)
+ * @param expiresAt instante de expiração em epoch millis (claim {@code exp})
+ * @param credentialsVersion versão das credenciais do usuário na emissão (claim {@code ver})
+ * @param jtiHigh   bits mais significativos do UUID do claim {@code jti} (0 se ausente)
+ * @param jtiLow    bits menos significativos do UUID do claim {@code jti} (0 se ausente)
+ */
+public record VerifiedToken(Long userId, int roleMask, long expiresAt, int credentialsVersion,
+                            long jtiHigh, long jtiLow) {
+
+    static final String ROLE_MASK_CLAIM = "rm";
+    static final String LEGACY_ROLES_CLAIM = "roles";
+
+    static VerifiedToken from(Claims claims) {
+        Integer version = claims.get("ver", Integer.class);
+        UUID jti = parseJti(claims.getId());
+        return new VerifiedToken(
+                Long.parseLong(claims.getSubject()),
+                roleMask(claims),
+                claims.getExpiration().getTime(),
+                version != null ? version : 0,
+                jti != null ? jti.getMostSignificantBits() : 0,
+                jti != null ? jti.getLeastSignificantBits() : 0
+        );
+    }
+
+    static int roleMask(Claims claims) {
+        Integer mask = claims.get(ROLE_MASK_CLAIM, Integer.class);
+        if (mask != null) {
+            return mask & RoleMask.ALL;
+        }
+        List<?> roles = claims.get(LEGACY_ROLES_CLAIM, List.class);
+        return roles != null ? RoleMask.fromAuthorityNames(roles) : 0;
+    }
+
+    /**
+     * Nomes das authorities (lista compartilhada e imutável)
+     */
+    public List<String> roles() {
+        return RoleMask.authorityNames(roleMask);
+    }
+
+    /**
+     * Tokens emitidos antes do claim {@code jti} não podem ser revogados individualmente
+     */
+    public boolean hasJti() {
+        return jtiHigh != 0 || jtiLow != 0;
+    }
+
+    public UUID jti() {
+        return hasJti() ? new UUID(jtiHigh, jtiLow) : null;
+    }
+
+    private static UUID parseJti(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAt <= nowMillis;
+    }
+}
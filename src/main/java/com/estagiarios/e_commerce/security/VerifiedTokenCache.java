@@ -0,0 +1,108 @@
+package com.estagiarios.e_commerce.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache limitado de tokens JWT já verificados.
+ * Cada token é parseado e tem a assinatura HMAC conferida uma única vez;
+ * as requisições seguintes com o mesmo token reutilizam as claims até o {@code exp}.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtTokenProvider tokenProvider;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              @Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.tokenProvider = tokenProvider;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Retorna as claims do token, verificando a assinatura apenas na primeira vez
+     *
+     * @param token token JWT sem o prefixo "Bearer "
+     * @return claims verificadas ou {@code null} se o token for inválido ou expirado
+     */
+    @Nullable
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = entries.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                hits.increment();
+                return cached;
+            }
+            // Token expirado nunca volta a ser válido: não há por que parsear de novo
+            entries.remove(token, cached);
+            misses.increment();
+            return null;
+        }
+
+        misses.increment();
+        VerifiedToken verified = tokenProvider.verifyToken(token);
+        if (verified != null) {
+            if (entries.size() >= maxEntries) {
+                evict(now);
+            }
+            if (entries.size() < maxEntries) {
+                entries.put(token, verified);
+            }
+        }
+        return verified;
+    }
+
+    public void invalidate(String token) {
+        entries.remove(token);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove os tokens expirados; se ainda estiver cheio, descarta entradas
+     * arbitrárias até liberar 10% da capacidade. Apenas uma thread faz a varredura.
+     */
+    private void evict(long now) {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            entries.values().removeIf(token -> token.isExpired(now));
+
+            int excess = entries.size() - (maxEntries - maxEntries / 10);
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (excess-- > 0 && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            log.debug("Cache de tokens compactado, {} entradas restantes", entries.size());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
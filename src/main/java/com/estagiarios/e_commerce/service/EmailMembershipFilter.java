@@ -0,0 +1,198 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Filtro de pertinência dos emails cadastrados, consultado antes de ir ao banco.
+ * Um "não" do filtro é definitivo, então logins com emails inexistentes (credential stuffing)
+ * são respondidos sem query. O filtro é montado na subida lendo a coluna usuarios.email em
+ * streaming, recebe cada novo registro e é reconstruído periodicamente. Com várias instâncias,
+ * os emails registrados nas outras chegam pela sincronização incremental, então um usuário
+ * recém-cadastrado em outra instância fica até um intervalo de sincronização sem conseguir logar aqui.
+ */
+@Slf4j
+@Component
+public class EmailMembershipFilter {
+
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final LongAdder definiteMisses = new LongAdder();
+
+    /** Filtro em uso; {@code null} até a primeira construção terminar */
+    private volatile BloomFilter current;
+    /** Filtro em construção, que também recebe os registros feitos durante a leitura */
+    private volatile BloomFilter building;
+    private volatile long lastRebuildMillis = -1;
+    /** Último cadastro já lido (relógio do banco); {@code null} até a primeira construção */
+    private volatile LocalDateTime ultimoCadastro;
+
+    public EmailMembershipFilter(UsuarioRepository usuarioRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.email-filter.enabled:true}") boolean enabled,
+                                 @Value("${app.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${app.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                 @Value("${app.email-filter.sync-interval-ms:5000}") long syncIntervalMs) {
+        this.usuarioRepository = usuarioRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        // Cadastros gravados com horário anterior ao da última leitura, mas commitados depois dela
+        this.syncOverlap = Duration.ofMillis(syncIntervalMs);
+    }
+
+    /**
+     * @return {@code false} apenas se o email com certeza não está cadastrado
+     */
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (filter == null || email == null || filter.mightContain(email)) {
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    /**
+     * Registra um email recém-cadastrado
+     */
+    public void put(String email) {
+        // Lê o filtro em construção antes do atual: se a troca acontecer no meio,
+        // o email ainda chega ao filtro novo
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(email);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(email);
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.email-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${app.email-filter.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Acrescenta os emails cadastrados desde a última leitura, inclusive os de outras instâncias.
+     * Relê a janela anterior à última leitura para pegar os INSERTs que ainda não tinham commit.
+     */
+    @Scheduled(initialDelayString = "${app.email-filter.sync-interval-ms:5000}",
+            fixedDelayString = "${app.email-filter.sync-interval-ms:5000}")
+    public void sincronizar() {
+        LocalDateTime desde = ultimoCadastro;
+        // Durante a reconstrução não precisa: o filtro novo já lê tudo do banco
+        if (!enabled || desde == null || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime marca = usuarioRepository.findUltimoCadastro();
+            List<String> emails = usuarioRepository.findEmailsCadastradosDepoisDe(desde.minus(syncOverlap));
+            emails.forEach(this::put);
+            ultimoCadastro = marca;
+        } catch (RuntimeException e) {
+            log.warn("Falha na sincronização do filtro de emails: {}", e.getMessage());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o filtro a partir do banco, dimensionado para o dobro dos usuários atuais
+     */
+    public void rebuild() {
+        if (!enabled || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            long total = usuarioRepository.count();
+            BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, total * 2), falsePositiveRate);
+            building = next;
+
+            // Lida antes dos emails: o que for cadastrado durante a leitura entra pela sincronização
+            LocalDateTime marca = readOnlyTransaction.execute(status -> {
+                LocalDateTime ultimo = usuarioRepository.findUltimoCadastro();
+                try (Stream<String> emails = usuarioRepository.streamAllEmails()) {
+                    emails.forEach(next::put);
+                }
+                return ultimo;
+            });
+
+            current = next;
+            ultimoCadastro = marca;
+            lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Filtro de emails reconstruído: {} emails, {} KB, {} funções hash, fpp estimada {}, {} ms",
+                    next.approximateElementCount(), next.memoryBytes() / 1024, next.hashFunctions(),
+                    String.format("%.5f", next.expectedFalsePositiveRate()), lastRebuildMillis);
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o filtro de emails: {}", e.getMessage(), e);
+        } finally {
+            building = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    /**
+     * Consultas ao banco evitadas por respostas negativas do filtro
+     */
+    public long getDefiniteMissCount() {
+        return definiteMisses.sum();
+    }
+
+    public long getMemoryBytes() {
+        BloomFilter filter = current;
+        return filter != null ? filter.memoryBytes() : 0;
+    }
+
+    public long getElementCount() {
+        BloomFilter filter = current;
+        return filter != null ? filter.approximateElementCount() : 0;
+    }
+
+    public double getExpectedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter != null ? filter.expectedFalsePositiveRate() : 1.0;
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+}
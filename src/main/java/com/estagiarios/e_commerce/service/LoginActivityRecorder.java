@@ -0,0 +1,177 @@
+package com.estagiarios.e_commerce.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Grava último login e tentativas falhas em segundo plano (write-behind).
+ * O login só registra o evento em um mapa por email, onde eventos do mesmo usuário se
+ * combinam; a cada {@code app.login-activity.flush-interval-ms} (e no shutdown) o mapa é
+ * esvaziado em UPDATEs JDBC em lote. Os dados no banco ficam no máximo um intervalo mais
+ * uma gravação atrasados; se o mapa passar de {@code max-pending} usuários, a gravação é
+ * antecipada. Se a aplicação cair sem shutdown, os eventos pendentes se perdem.
+ */
+@Slf4j
+@Component
+public class LoginActivityRecorder {
+
+    static final String UPDATE_SQL = "update usuarios set "
+            + "ultimo_login = coalesce(?, ultimo_login), "
+            + "tentativas_falhas = case when ? then 0 else tentativas_falhas end + ? "
+            + "where email = ?";
+
+    /**
+     * Atividade acumulada de um usuário desde a última gravação
+     *
+     * @param ultimoLoginMillis instante do login mais recente, ou 0 se não houve sucesso
+     * @param zerarFalhas       houve login com sucesso, então o contador volta a zero
+     * @param falhas            falhas após o último sucesso (ou todas, se não houve sucesso)
+     */
+    record Pendente(long ultimoLoginMillis, boolean zerarFalhas, int falhas) {
+
+        Pendente combinar(Pendente novo) {
+            long ultimoLogin = Math.max(ultimoLoginMillis, novo.ultimoLoginMillis);
+            if (novo.zerarFalhas) {
+                return new Pendente(ultimoLogin, true, novo.falhas);
+            }
+            return new Pendente(ultimoLogin, zerarFalhas, falhas + novo.falhas);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskExecutor taskExecutor;
+    private final int batchSize;
+    private final int maxPending;
+
+    private final ConcurrentHashMap<String, Pendente> pendentes = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushAgendado = new AtomicBoolean();
+    private final LongAdder eventos = new LongAdder();
+    private final LongAdder linhasGravadas = new LongAdder();
+
+    public LoginActivityRecorder(JdbcTemplate jdbcTemplate,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${app.login-activity.batch-size:500}") int batchSize,
+                                 @Value("${app.login-activity.max-pending:50000}") int maxPending) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    public void registrarLogin(String email) {
+        registrar(email, new Pendente(System.currentTimeMillis(), true, 0));
+    }
+
+    public void registrarFalha(String email) {
+        registrar(email, new Pendente(0, false, 1));
+    }
+
+    /**
+     * Grava tudo o que está pendente; chamado pelo agendamento, no shutdown e quando o mapa enche
+     *
+     * @return quantidade de usuários atualizados
+     */
+    @Scheduled(fixedDelayString = "${app.login-activity.flush-interval-ms:5000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            flushAgendado.set(false);
+            int total = 0;
+            List<Map.Entry<String, Pendente>> lote = new ArrayList<>(Math.min(batchSize, pendentes.size()));
+            for (String email : pendentes.keySet()) {
+                // remove atômico: eventos que chegarem depois criam uma nova entrada
+                Pendente pendente = pendentes.remove(email);
+                if (pendente == null) {
+                    continue;
+                }
+                lote.add(Map.entry(email, pendente));
+                if (lote.size() == batchSize) {
+                    total += gravar(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                total += gravar(lote);
+            }
+            return total;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int gravados = flush();
+        log.info("Atividade de login pendente gravada no shutdown: {} usuários", gravados);
+    }
+
+    public int getPendingCount() {
+        return pendentes.size();
+    }
+
+    public long getEventCount() {
+        return eventos.sum();
+    }
+
+    public long getRowsWrittenCount() {
+        return linhasGravadas.sum();
+    }
+
+    private void registrar(String email, Pendente evento) {
+        if (email == null) {
+            return;
+        }
+        pendentes.merge(email, evento, Pendente::combinar);
+        eventos.increment();
+        if (pendentes.size() >= maxPending && flushAgendado.compareAndSet(false, true)) {
+            taskExecutor.execute(this::flush);
+        }
+    }
+
+    private int gravar(List<Map.Entry<String, Pendente>> lote) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Map.Entry<String, Pendente> entry = lote.get(i);
+                    Pendente pendente = entry.getValue();
+                    ps.setTimestamp(1, pendente.ultimoLoginMillis() > 0 ? new Timestamp(pendente.ultimoLoginMillis()) : null);
+                    ps.setBoolean(2, pendente.zerarFalhas());
+                    ps.setInt(3, pendente.falhas());
+                    ps.setString(4, entry.getKey());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return lote.size();
+                }
+            });
+            linhasGravadas.add(lote.size());
+            return lote.size();
+        } catch (RuntimeException e) {
+            // Devolve ao mapa para a próxima tentativa, combinando com eventos mais novos
+            lote.forEach(entry -> pendentes.merge(entry.getKey(), entry.getValue(), (novo, antigo) -> antigo.combinar(novo)));
+            log.error("Falha ao gravar atividade de login de {} usuários: {}", lote.size(), e.getMessage());
+            return 0;
+        }
+    }
+}
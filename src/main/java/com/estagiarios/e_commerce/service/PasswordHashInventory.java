@@ -0,0 +1,104 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.security.PasswordHashSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distribuição dos hashes de senha armazenados por algoritmo e custo, exposta em
+ * {@code auth.password.hashes{algorithm,parameters,current}}. Mostra o andamento da
+ * migração para o alvo atual: {@code current=false} são os hashes que ainda serão
+ * regravados no próximo login (custo abaixo do alvo, outro algoritmo ou sem prefixo).
+ * A contagem agrupa só o início de cada hash no banco, fora do caminho das requisições,
+ * e roda em transação read-only (em uma réplica, se houver).
+ */
+@Slf4j
+@Component
+public class PasswordHashInventory implements MeterBinder {
+
+    static final String DISTRIBUICAO_SQL = "select prefixo, count(*) as total from ("
+            + "select case "
+            + "when senha like '{argon2}%' then substring(senha from 1 for position(',p=' in senha) + 3) "
+            + "when senha like '{bcrypt}%' then substring(senha from 1 for 15) "
+            + "else substring(senha from 1 for 7) end as prefixo "
+            + "from usuarios) hashes group by prefixo";
+
+    /**
+     * Quantidade de hashes com os mesmos parâmetros
+     *
+     * @param atual dispensa rehash para o alvo configurado
+     */
+    public record Linha(PasswordHashSpec spec, boolean atual, long total) {
+    }
+
+    private record Chave(PasswordHashSpec spec, boolean atual) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHashSpec target;
+    private final String targetPrefix;
+    private volatile List<Linha> distribuicao = List.of();
+    private volatile MultiGauge gauge;
+
+    public PasswordHashInventory(JdbcTemplate jdbcTemplate, PasswordHashSpec passwordHashTarget) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.target = passwordHashTarget;
+        this.targetPrefix = "{" + passwordHashTarget.algorithm() + "}";
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge = MultiGauge.builder("auth.password.hashes")
+                .description("Hashes de senha armazenados por algoritmo e custo")
+                .register(registry);
+        publicar(distribuicao);
+    }
+
+    @Scheduled(initialDelayString = "${app.password.inventory-initial-delay-ms:60000}",
+            fixedDelayString = "${app.password.inventory-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Map<Chave, Long> totais = new LinkedHashMap<>();
+        jdbcTemplate.query(DISTRIBUICAO_SQL, rs -> {
+            String prefixo = rs.getString("prefixo");
+            PasswordHashSpec spec = PasswordHashSpec.of(prefixo);
+            boolean atual = prefixo != null && prefixo.startsWith(targetPrefix) && spec.satisfies(target);
+            // $2a$ e $2b$ com o mesmo custo caem na mesma linha
+            totais.merge(new Chave(spec, atual), rs.getLong("total"), Long::sum);
+        });
+        List<Linha> linhas = totais.entrySet().stream()
+                .map(e -> new Linha(e.getKey().spec(), e.getKey().atual(), e.getValue()))
+                .toList();
+        distribuicao = linhas;
+        publicar(linhas);
+        log.debug("Distribuição dos hashes de senha: {}", linhas);
+    }
+
+    public List<Linha> getDistribuicao() {
+        return distribuicao;
+    }
+
+    private void publicar(List<Linha> linhas) {
+        MultiGauge current = gauge;
+        if (current == null) {
+            return;
+        }
+        current.register(linhas.stream()
+                .<MultiGauge.Row<?>>map(linha -> MultiGauge.Row.of(Tags.of(
+                        "algorithm", linha.spec().algorithm(),
+                        "parameters", linha.spec().parameters(),
+                        "current", Boolean.toString(linha.atual())), linha.total()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,50 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.datasource.ReadYourWritesTracker;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Regrava o hash da senha com o algoritmo e o custo atuais após um login bem-sucedido.
+ * O {@code DaoAuthenticationProvider} chama {@link #updatePassword} com o novo hash quando o
+ * {@code upgradeEncoding} do encoder indica que o hash armazenado está desatualizado.
+ * A versão das credenciais não muda: tokens e refresh tokens já emitidos continuam valendo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordRehashService implements UserDetailsPasswordService {
+
+    private final UsuarioRepository usuarioRepository;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AuthMetrics authMetrics;
+
+    /**
+     * O UPDATE só troca o hash se ele ainda for o lido no login; se a senha foi alterada
+     * nesse intervalo, o hash novo (da senha antiga) é descartado
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        int linhas = usuarioRepository.atualizarHashSenha(principal.getId(), principal.getSenha(), newPassword);
+        if (linhas == 0) {
+            log.debug("Rehash da senha do usuário {} descartado: hash alterado durante o login", principal.getId());
+            authMetrics.recordRehash(AuthMetrics.RehashOutcome.CONFLICT);
+            return principal;
+        }
+        // Sem isso o próximo login poderia ler o hash antigo de uma réplica e refazer o rehash
+        readYourWrites.markWritten(principal.getEmail());
+        authMetrics.recordRehash(AuthMetrics.RehashOutcome.UPGRADED);
+        log.debug("Hash da senha do usuário {} atualizado", principal.getId());
+        return new UserPrincipal(principal.getId(), principal.getNome(), principal.getEmail(), newPassword,
+                principal.getRoleMask(), principal.getVersaoCredenciais());
+    }
+}
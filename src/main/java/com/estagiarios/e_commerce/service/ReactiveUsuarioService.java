@@ -0,0 +1,126 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.exception.StacklessUsernameNotFoundException;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.repository.ReactiveUsuarioRepository;
+import com.estagiarios.e_commerce.security.PasswordHashingExecutor;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.UserPrincipalCache;
+import com.estagiarios.e_commerce.util.EmailUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Equivalente reativo das operações do {@link UsuarioService} usadas no login, na
+ * verificação de tokens e no registro. Consultas via R2DBC e BCrypt no pool de hashing
+ * ({@link PasswordHashingExecutor#submit}); nada aqui bloqueia o event loop.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveUsuarioService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontrado";
+
+    private final ReactiveUsuarioRepository usuarioRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final UserPrincipalCache principalCache;
+    private final EmailMembershipFilter emailFilter;
+    private final AuthMetrics authMetrics;
+
+    /**
+     * Carrega credenciais e roles pelo email; usuário inexistente é sinalizado com
+     * {@link StacklessUsernameNotFoundException}, como no modo servlet
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String emailInformado) {
+        String email = EmailUtils.normalize(emailInformado);
+        if (!emailFilter.mightContain(email)) {
+            return Mono.error(new StacklessUsernameNotFoundException(USUARIO_NAO_ENCONTRADO));
+        }
+        return usuarioRepository.findCredenciaisByEmail(email)
+                .collectList()
+                .<UserDetails>mapNotNull(UserPrincipal::create)
+                .switchIfEmpty(Mono.error(() -> new StacklessUsernameNotFoundException(USUARIO_NAO_ENCONTRADO)));
+    }
+
+    /**
+     * Principal de um token já verificado, com a mesma regra de versão de credenciais de
+     * {@link UsuarioService#loadUserForToken}
+     *
+     * @return principal, ou vazio se o token foi emitido antes da última alteração de credenciais
+     */
+    public Mono<UserPrincipal> loadUserForToken(Long id, int versaoToken) {
+        UserPrincipal cached = principalCache.getIfPresent(id);
+        Mono<UserPrincipal> principal = cached != null && cached.getVersaoCredenciais() >= versaoToken
+                ? Mono.just(cached)
+                : carregarPrincipal(id);
+        return principal.filter(p -> {
+            if (p.getVersaoCredenciais() != versaoToken) {
+                log.debug("Token do usuário {} emitido com versão de credenciais obsoleta", id);
+                return false;
+            }
+            return true;
+        });
+    }
+
+    public Mono<UserPrincipal> loadUserById(Long id) {
+        UserPrincipal cached = principalCache.getIfPresent(id);
+        return cached != null ? Mono.just(cached) : carregarPrincipal(id);
+    }
+
+    /**
+     * Registra o usuário com a role USER: hash no pool de hashing e INSERT via R2DBC.
+     * A duplicidade de email é detectada pela constraint única, como no modo servlet.
+     *
+     * @return id do usuário; {@link IllegalArgumentException} para email inválido ou já cadastrado
+     */
+    public Mono<Long> registrarUsuario(RegisterRequest request) {
+        String email = EmailUtils.normalize(request.getEmail());
+        if (!EmailUtils.isValid(email)) {
+            return Mono.error(new IllegalArgumentException("Email inválido"));
+        }
+        return passwordHashingExecutor.submit(() -> passwordEncoder.encode(request.getPassword()))
+                .flatMap(hash -> usuarioRepository.inserir(request.getName(), email, hash))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new IllegalArgumentException("Email já cadastrado no sistema"))
+                .doOnNext(id -> emailFilter.put(email));
+    }
+
+    /**
+     * Rehash após login, com a mesma regra do {@link PasswordRehashService}
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) user;
+        return usuarioRepository.atualizarHashSenha(principal.getId(), principal.getSenha(), newPassword)
+                .map(linhas -> {
+                    if (linhas == 0) {
+                        authMetrics.recordRehash(AuthMetrics.RehashOutcome.CONFLICT);
+                        return principal;
+                    }
+                    authMetrics.recordRehash(AuthMetrics.RehashOutcome.UPGRADED);
+                    return new UserPrincipal(principal.getId(), principal.getNome(), principal.getEmail(),
+                            newPassword, principal.getRoleMask(), principal.getVersaoCredenciais());
+                });
+    }
+
+    private Mono<UserPrincipal> carregarPrincipal(Long id) {
+        long stamp = principalCache.invalidationStamp();
+        return usuarioRepository.findCredenciaisById(id)
+                .collectList()
+                .mapNotNull(UserPrincipal::create)
+                .doOnNext(principal -> principalCache.putLoaded(id, principal, stamp));
+    }
+}
@@ -0,0 +1,134 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.entity.RefreshToken;
+import com.estagiarios.e_commerce.exception.RefreshTokenInvalidoException;
+import com.estagiarios.e_commerce.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Emissão e rotação de refresh tokens.
+ * O token é um valor aleatório opaco de 256 bits; o banco guarda só o SHA-256, então a
+ * troca por um novo access token é uma busca indexada, sem BCrypt. Cada uso gera um novo
+ * token da mesma família, e a reapresentação de um token já usado revoga a família inteira.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final long expirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-expiration:2592000000}") long expirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expirationMs = expirationMs;
+    }
+
+    /**
+     * Resultado de uma rotação: o usuário dono do token e o novo refresh token
+     */
+    public record Rotacao(Long usuarioId, String refreshToken) {
+    }
+
+    /**
+     * Emite o primeiro refresh token de uma nova família (login)
+     *
+     * @return token em texto plano, que só é conhecido pelo cliente
+     */
+    @Transactional
+    public String emitir(Long usuarioId) {
+        return emitir(usuarioId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Troca o refresh token por um novo da mesma família
+     *
+     * @throws RefreshTokenInvalidoException se o token não existir, estiver expirado ou já tiver sido usado
+     */
+    @Transactional(noRollbackFor = RefreshTokenInvalidoException.class)
+    public Rotacao rotacionar(String refreshToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new RefreshTokenInvalidoException("Refresh token inválido"));
+
+        if (token.isUsado() || token.isRevogado()) {
+            revogarPorReutilizacao(token);
+        }
+        if (token.getExpiraEm().isBefore(LocalDateTime.now())) {
+            throw new RefreshTokenInvalidoException("Refresh token expirado");
+        }
+        // Duas requisições com o mesmo token ao mesmo tempo: só uma consegue marcá-lo
+        if (refreshTokenRepository.marcarComoUsado(token.getId()) == 0) {
+            revogarPorReutilizacao(token);
+        }
+
+        return new Rotacao(token.getUsuarioId(), emitir(token.getUsuarioId(), token.getFamilia()));
+    }
+
+    /**
+     * Revoga a família do token (logout de uma sessão)
+     */
+    @Transactional
+    public void revogar(String refreshToken) {
+        refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revogarFamilia(token.getFamilia()));
+    }
+
+    /**
+     * Revoga todos os refresh tokens do usuário
+     */
+    @Transactional
+    public void revogarTodos(Long usuarioId) {
+        refreshTokenRepository.revogarTodosDoUsuario(usuarioId);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${app.refresh-token.cleanup-cron:0 0 3 * * *}")
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.removerExpiradosAntesDe(LocalDateTime.now());
+        log.info("Refresh tokens expirados removidos: {}", removidos);
+    }
+
+    private String emitir(Long usuarioId, String familia) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime agora = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(usuarioId, hash(token), familia,
+                agora, agora.plus(Duration.ofMillis(expirationMs))));
+        return token;
+    }
+
+    private void revogarPorReutilizacao(RefreshToken token) {
+        refreshTokenRepository.revogarFamilia(token.getFamilia());
+        log.warn("Reutilização de refresh token detectada para o usuário {}; família revogada", token.getUsuarioId());
+        throw new RefreshTokenInvalidoException("Refresh token reutilizado");
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
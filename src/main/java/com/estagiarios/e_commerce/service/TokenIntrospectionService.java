@@ -0,0 +1,144 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.TokenIntrospection;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import com.estagiarios.e_commerce.security.VerifiedTokenCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verificação de access tokens em lote para os serviços internos, com as mesmas regras do
+ * {@code JwtAuthenticationFilter}: assinatura e expiração (via {@link VerifiedTokenCache},
+ * então tokens já vistos não passam de novo pelo HMAC), denylist e versão das credenciais.
+ * Lotes pequenos são verificados na própria thread da requisição; os maiores são divididos
+ * em faixas contíguas entre um pool de threads de plataforma (trabalho de CPU) e a thread
+ * da requisição, que também processa uma faixa.
+ */
+@Slf4j
+@Service
+public class TokenIntrospectionService {
+
+    // Abaixo disso o custo de repassar a faixa para outra thread supera o da verificação
+    static final int TOKENS_POR_FAIXA = 256;
+
+    private final VerifiedTokenCache tokenCache;
+    private final TokenDenylist denylist;
+    private final UsuarioService usuarioService;
+    private final AuthMetrics authMetrics;
+    private final ExecutorService executor;
+    private final int threads;
+
+    public TokenIntrospectionService(VerifiedTokenCache tokenCache,
+                                     TokenDenylist denylist,
+                                     UsuarioService usuarioService,
+                                     AuthMetrics authMetrics,
+                                     @Value("${app.introspection.threads:0}") int threads) {
+        this.tokenCache = tokenCache;
+        this.denylist = denylist;
+        this.usuarioService = usuarioService;
+        this.authMetrics = authMetrics;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "token-introspection-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Verifica os tokens do lote
+     *
+     * @return um resultado por token, na mesma ordem
+     */
+    public List<TokenIntrospection> introspectar(List<String> tokens) {
+        long start = System.nanoTime();
+        int total = tokens.size();
+        TokenIntrospection[] resultados = new TokenIntrospection[total];
+
+        // Pool + thread da requisição
+        int faixas = Math.min(threads + 1, (total + TOKENS_POR_FAIXA - 1) / TOKENS_POR_FAIXA);
+        if (faixas <= 1) {
+            verificarFaixa(tokens, resultados, 0, total);
+        } else {
+            int tamanho = (total + faixas - 1) / faixas;
+            List<Future<?>> pendentes = new ArrayList<>(faixas - 1);
+            for (int inicio = tamanho; inicio < total; inicio += tamanho) {
+                int de = inicio;
+                int ate = Math.min(total, inicio + tamanho);
+                pendentes.add(executor.submit(() -> verificarFaixa(tokens, resultados, de, ate)));
+            }
+            verificarFaixa(tokens, resultados, 0, tamanho);
+            aguardar(pendentes);
+        }
+
+        int ativos = 0;
+        for (TokenIntrospection resultado : resultados) {
+            if (resultado.isActive()) {
+                ativos++;
+            }
+        }
+        authMetrics.recordIntrospection(total, ativos, start);
+        return Arrays.asList(resultados);
+    }
+
+    private void verificarFaixa(List<String> tokens, TokenIntrospection[] resultados, int de, int ate) {
+        for (int i = de; i < ate; i++) {
+            resultados[i] = verificar(tokens.get(i));
+        }
+    }
+
+    private TokenIntrospection verificar(String jwt) {
+        VerifiedToken token = StringUtils.hasText(jwt) ? tokenCache.verify(jwt) : null;
+        if (token == null || denylist.isRevoked(token)) {
+            return TokenIntrospection.INATIVO;
+        }
+        try {
+            if (usuarioService.loadUserForToken(token.userId(), token.credentialsVersion()) == null) {
+                return TokenIntrospection.INATIVO;
+            }
+        } catch (UsernameNotFoundException e) {
+            // Usuário removido depois da emissão do token
+            return TokenIntrospection.INATIVO;
+        }
+        return new TokenIntrospection(true, Long.toString(token.userId()), token.roles(), token.expiresAt() / 1000);
+    }
+
+    private static void aguardar(List<Future<?>> pendentes) {
+        for (Future<?> pendente : pendentes) {
+            try {
+                pendente.get();
+            } catch (ExecutionException e) {
+                pendentes.forEach(f -> f.cancel(false));
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Falha na introspecção de tokens", e.getCause());
+            } catch (InterruptedException e) {
+                pendentes.forEach(f -> f.cancel(false));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Introspecção de tokens interrompida", e);
+            }
+        }
+    }
+}
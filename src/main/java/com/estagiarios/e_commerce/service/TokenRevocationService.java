@@ -0,0 +1,122 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.entity.TokenRevogado;
+import com.estagiarios.e_commerce.repository.TokenRevogadoRepository;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Revogação de access tokens. A {@link TokenDenylist} em memória é a fonte consultada
+ * pelo filtro; a tabela {@code tokens_revogados} a reconstrói após um restart e propaga
+ * os logouts entre instâncias na sincronização periódica.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class TokenRevocationService {
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+    private final TokenDenylist denylist;
+    private final Duration syncOverlap;
+    private volatile LocalDateTime ultimaSincronizacao;
+
+    public TokenRevocationService(TokenRevogadoRepository tokenRevogadoRepository, TokenDenylist denylist,
+                                  @Value("${app.revocation.sync-interval-ms:10000}") long syncIntervalMs) {
+        this.tokenRevogadoRepository = tokenRevogadoRepository;
+        this.denylist = denylist;
+        this.syncOverlap = Duration.ofMillis(syncIntervalMs);
+    }
+
+    /**
+     * Revoga o token informado até a sua expiração. A denylist só recebe o token após o
+     * commit, então uma falha ao gravar não deixa a instância recusando um token que as
+     * outras continuam aceitando.
+     *
+     * @return {@code false} se o token não tem jti (emitido antes da revogação existir)
+     */
+    @Transactional
+    public boolean revogar(VerifiedToken token) {
+        if (!token.hasJti()) {
+            return false;
+        }
+        if (denylist.isRevoked(token)) {
+            return true;
+        }
+        tokenRevogadoRepository.save(new TokenRevogado(token.jti(), token.userId(),
+                toLocalDateTime(token.expiresAt()), LocalDateTime.now()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                denylist.revoke(token.jtiHigh(), token.jtiLow(), token.expiresAt());
+            }
+        });
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        LocalDateTime agora = LocalDateTime.now();
+        int carregados = aplicar(tokenRevogadoRepository.findByExpiraEmAfter(agora));
+        ultimaSincronizacao = agora;
+        log.info("Denylist de tokens carregada com {} revogações", carregados);
+    }
+
+    /**
+     * Traz revogações feitas por outras instâncias. A janela volta um intervalo inteiro
+     * para cobrir transações que gravaram com horário anterior mas commitaram depois.
+     */
+    @Scheduled(fixedDelayString = "${app.revocation.sync-interval-ms:10000}",
+            initialDelayString = "${app.revocation.sync-interval-ms:10000}")
+    public void sincronizar() {
+        LocalDateTime desde = ultimaSincronizacao;
+        if (desde == null) {
+            return;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        int novos = aplicar(tokenRevogadoRepository
+                .findByRevogadoEmGreaterThanEqualAndExpiraEmAfter(desde.minus(syncOverlap), agora));
+        ultimaSincronizacao = agora;
+        if (novos > 0) {
+            log.debug("Sincronização da denylist: {} novas revogações", novos);
+        }
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${app.revocation.purge-interval-ms:300000}")
+    public void removerExpirados() {
+        int memoria = denylist.purgeExpired();
+        int banco = tokenRevogadoRepository.removerExpiradosAntesDe(LocalDateTime.now());
+        log.debug("Revogações expiradas descartadas: {} em memória, {} no banco", memoria, banco);
+    }
+
+    private int aplicar(List<TokenRevogado> revogados) {
+        int novos = 0;
+        for (TokenRevogado revogado : revogados) {
+            long expiraEm = revogado.getExpiraEm().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            if (denylist.revoke(revogado.getJti().getMostSignificantBits(),
+                    revogado.getJti().getLeastSignificantBits(), expiraEm)) {
+                novos++;
+            }
+        }
+        return novos;
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
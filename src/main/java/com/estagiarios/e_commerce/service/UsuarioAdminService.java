@@ -0,0 +1,174 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.PaginaUsuarios;
+import com.estagiarios.e_commerce.dto.UsuarioResumo;
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.repository.ResumoUsuarioLinha;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas administrativas sobre usuários que não cabem em {@code findAll}: a listagem
+ * pagina por keyset no id (custo constante em qualquer página) e a exportação percorre a
+ * tabela com um cursor JDBC forward-only, escrevendo cada usuário assim que a linha chega.
+ * Nenhuma das duas carrega entidades; ambas rodam em transação read-only (em uma réplica,
+ * se houver).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UsuarioAdminService {
+
+    public static final int LIMITE_MAXIMO = 500;
+
+    // Ordenado por id: as linhas de um mesmo usuário (uma por role) chegam juntas
+    static final String EXPORTACAO_SQL = "select u.id, u.nome, u.email, u.ultimo_login, r.role "
+            + "from usuarios u left join usuario_roles r on r.usuario_id = u.id order by u.id";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final UsuarioRepository usuarioRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Usuários com id maior que {@code depoisDe}, em ordem de id
+     *
+     * @param depoisDe cursor da página anterior; nulo para a primeira página
+     * @param role     filtro opcional por role
+     * @param limite   tamanho da página, ajustado para 1..{@value #LIMITE_MAXIMO}
+     */
+    public PaginaUsuarios listar(Long depoisDe, Role role, int limite) {
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO);
+        long cursor = depoisDe != null ? depoisDe : 0L;
+        // Um id a mais só para saber se existe próxima página
+        Limit limit = Limit.of(tamanho + 1);
+        List<Long> ids = role != null
+                ? usuarioRepository.findIdsComRoleDepoisDe(cursor, role, limit)
+                : usuarioRepository.findIdsDepoisDe(cursor, limit);
+
+        boolean haMais = ids.size() > tamanho;
+        if (haMais) {
+            ids = ids.subList(0, tamanho);
+        }
+        if (ids.isEmpty()) {
+            return new PaginaUsuarios(List.of(), null);
+        }
+
+        Map<Long, UsuarioResumo> resumos = new LinkedHashMap<>();
+        for (ResumoUsuarioLinha linha : usuarioRepository.findResumos(ids)) {
+            UsuarioResumo resumo = resumos.computeIfAbsent(linha.id(), id -> new UsuarioResumo(
+                    id, linha.nome(), linha.email(), linha.ultimoLogin(), new ArrayList<>()));
+            if (linha.role() != null) {
+                resumo.getRoles().add(linha.role().name());
+            }
+        }
+        return new PaginaUsuarios(new ArrayList<>(resumos.values()), haMais ? ids.get(ids.size() - 1) : null);
+    }
+
+    /**
+     * Escreve todos os usuários em NDJSON, um objeto por linha no formato de
+     * {@link UsuarioResumo}. O driver busca {@value #FETCH_SIZE} linhas por vez e cada
+     * usuário vai para o stream assim que a linha seguinte mostra que ele terminou, então
+     * a memória usada não depende do tamanho da tabela. O stream não é fechado.
+     *
+     * @return quantidade de usuários exportados
+     */
+    public long exportar(OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto já termina em '\n'; sem o espaço padrão entre valores na raiz
+            json.setRootValueSeparator(null);
+            ExportacaoNdjson exportacao = new ExportacaoNdjson(json);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(EXPORTACAO_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, exportacao);
+            exportacao.encerrar();
+            log.info("Exportação de usuários: {} registros", exportacao.usuarios);
+            return exportacao.usuarios;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Escreve cada usuário direto no gerador JSON: abre o objeto na primeira linha do id,
+     * acrescenta as roles das linhas seguintes e fecha quando o id muda
+     */
+    private static final class ExportacaoNdjson implements RowCallbackHandler {
+
+        private final JsonGenerator json;
+        private long idAtual = -1;
+        private long usuarios;
+
+        ExportacaoNdjson(JsonGenerator json) {
+            this.json = json;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long id = rs.getLong("id");
+                if (id != idAtual) {
+                    fecharUsuario();
+                    idAtual = id;
+                    usuarios++;
+                    json.writeStartObject();
+                    json.writeNumberField("id", id);
+                    json.writeStringField("nome", rs.getString("nome"));
+                    json.writeStringField("email", rs.getString("email"));
+                    Timestamp ultimoLogin = rs.getTimestamp("ultimo_login");
+                    json.writeStringField("ultimoLogin", ultimoLogin == null
+                            ? null
+                            : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(ultimoLogin.toLocalDateTime()));
+                    json.writeArrayFieldStart("roles");
+                }
+                String role = rs.getString("role");
+                if (role != null) {
+                    json.writeString(role);
+                }
+            } catch (IOException e) {
+                // Cliente desconectou: interrompe a leitura do cursor
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void encerrar() throws IOException {
+            fecharUsuario();
+            json.flush();
+        }
+
+        private void fecharUsuario() throws IOException {
+            if (idAtual != -1) {
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        }
+    }
+}
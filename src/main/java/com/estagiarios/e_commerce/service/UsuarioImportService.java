@@ -0,0 +1,291 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.ImportacaoResultado;
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.util.EmailUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de usuários a partir de CSV ou NDJSON.
+ * O arquivo é lido linha a linha e processado em lotes de tamanho fixo, então o uso
+ * de memória não depende do tamanho do arquivo. As senhas de cada lote são
+ * criptografadas em paralelo e os INSERTs vão para o banco em batches JDBC.
+ */
+@Slf4j
+@Service
+public class UsuarioImportService {
+
+    public enum Formato { CSV, NDJSON }
+
+    private final UsuarioRepository usuarioRepository;
+    private final EmailMembershipFilter emailFilter;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ExecutorService hashExecutor;
+    private final int batchSize;
+
+    public UsuarioImportService(UsuarioRepository usuarioRepository,
+                                EmailMembershipFilter emailFilter,
+                                PasswordEncoder passwordEncoder,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                @Value("${app.import.batch-size:500}") int batchSize,
+                                @Value("${app.import.hash-threads:0}") int hashThreads) {
+        this.usuarioRepository = usuarioRepository;
+        this.emailFilter = emailFilter;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+
+        // Metade dos núcleos por padrão, para o login continuar com CPU durante a importação
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Importa os usuários do {@code reader}, emitindo um resultado por linha em {@code saida}.
+     * No CSV a primeira linha é o cabeçalho com as colunas {@code name,email,password};
+     * os valores não podem conter vírgulas, o que as validações de {@link RegisterRequest} já garantem.
+     */
+    public void importar(Reader reader, Formato formato, Consumer<ImportacaoResultado> saida) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        long numeroLinha = 0;
+        Map<String, Integer> colunas = null;
+
+        if (formato == Formato.CSV) {
+            String cabecalho = in.readLine();
+            numeroLinha++;
+            if (cabecalho == null) {
+                return;
+            }
+            colunas = parseCabecalho(cabecalho);
+        }
+
+        List<LinhaImportacao> lote = new ArrayList<>(batchSize);
+        long criados = 0;
+        String linha;
+        while ((linha = in.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+
+            RegisterRequest request;
+            try {
+                request = formato == Formato.CSV
+                        ? parseCsv(linha, colunas)
+                        : objectMapper.readValue(linha, RegisterRequest.class);
+            } catch (Exception e) {
+                saida.accept(new ImportacaoResultado(numeroLinha, null, ImportacaoResultado.Status.INVALIDO,
+                        "Linha mal formatada"));
+                continue;
+            }
+
+            Set<ConstraintViolation<RegisterRequest>> violacoes = validator.validate(request);
+            if (!violacoes.isEmpty()) {
+                saida.accept(new ImportacaoResultado(numeroLinha, request.getEmail(), ImportacaoResultado.Status.INVALIDO,
+                        violacoes.stream().map(ConstraintViolation::getMessage).collect(Collectors.joining(", "))));
+                continue;
+            }
+
+            // Mesma regra do registro: o @Email aceita endereços que o cadastro recusa
+            request.setEmail(EmailUtils.normalize(request.getEmail()));
+            if (!EmailUtils.isValid(request.getEmail())) {
+                saida.accept(new ImportacaoResultado(numeroLinha, request.getEmail(), ImportacaoResultado.Status.INVALIDO,
+                        "Email inválido"));
+                continue;
+            }
+            lote.add(new LinhaImportacao(numeroLinha, request));
+            if (lote.size() >= batchSize) {
+                criados += processarLote(lote, saida);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            criados += processarLote(lote, saida);
+        }
+        log.info("Importação concluída: {} linhas lidas, {} usuários criados", numeroLinha, criados);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdown();
+    }
+
+    /**
+     * Processa um lote: descarta emails repetidos, criptografa as senhas em paralelo
+     * e grava tudo em uma transação. Se o lote violar alguma constraint (normalmente um
+     * registro concorrente com o mesmo email), ele é regravado linha a linha.
+     *
+     * @return quantidade de usuários criados
+     */
+    private int processarLote(List<LinhaImportacao> lote, Consumer<ImportacaoResultado> saida) {
+        Set<String> emails = new HashSet<>();
+        List<LinhaImportacao> candidatas = new ArrayList<>(lote.size());
+        for (LinhaImportacao linha : lote) {
+            if (emails.add(linha.email())) {
+                candidatas.add(linha);
+            } else {
+                saida.accept(linha.resultado(ImportacaoResultado.Status.DUPLICADO, "Email repetido no arquivo"));
+            }
+        }
+
+        // Só consulta no banco os emails que o filtro não descarta
+        List<String> suspeitos = emails.stream().filter(emailFilter::mightContain).toList();
+        Set<String> existentes = suspeitos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(usuarioRepository.findExistingEmails(suspeitos));
+        List<Future<String>> hashes = new ArrayList<>(candidatas.size());
+        List<LinhaImportacao> novas = new ArrayList<>(candidatas.size());
+        for (LinhaImportacao linha : candidatas) {
+            if (existentes.contains(linha.email())) {
+                saida.accept(linha.resultado(ImportacaoResultado.Status.DUPLICADO, "Email já cadastrado no sistema"));
+            } else {
+                String senha = linha.request().getPassword();
+                hashes.add(hashExecutor.submit(() -> passwordEncoder.encode(senha)));
+                novas.add(linha);
+            }
+        }
+
+        List<LinhaImportacao> prontas = new ArrayList<>(novas.size());
+        List<String> senhas = new ArrayList<>(novas.size());
+        for (int i = 0; i < novas.size(); i++) {
+            try {
+                senhas.add(hashes.get(i).get());
+                prontas.add(novas.get(i));
+            } catch (ExecutionException e) {
+                saida.accept(novas.get(i).resultado(ImportacaoResultado.Status.ERRO, "Falha ao criptografar senha"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Importação interrompida", e);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Usuario> usuarios = new ArrayList<>(prontas.size());
+                for (int i = 0; i < prontas.size(); i++) {
+                    usuarios.add(prontas.get(i).toUsuario(senhas.get(i)));
+                }
+                usuarioRepository.saveAll(usuarios);
+                usuarioRepository.flush();
+            });
+            prontas.forEach(linha -> {
+                emailFilter.put(linha.email());
+                saida.accept(linha.resultado(ImportacaoResultado.Status.CRIADO, "Usuário registrado"));
+            });
+            return prontas.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Lote com violação de integridade, regravando linha a linha");
+            entityManager.clear();
+            return gravarIndividualmente(prontas, senhas, saida);
+        } finally {
+            // Mantém o contexto de persistência vazio entre lotes (open-in-view)
+            entityManager.clear();
+        }
+    }
+
+    private int gravarIndividualmente(List<LinhaImportacao> linhas, List<String> senhas, Consumer<ImportacaoResultado> saida) {
+        int criados = 0;
+        for (int i = 0; i < linhas.size(); i++) {
+            LinhaImportacao linha = linhas.get(i);
+            Usuario usuario = linha.toUsuario(senhas.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> usuarioRepository.saveAndFlush(usuario));
+                emailFilter.put(linha.email());
+                saida.accept(linha.resultado(ImportacaoResultado.Status.CRIADO, "Usuário registrado"));
+                criados++;
+            } catch (DataIntegrityViolationException e) {
+                if (UsuarioService.isViolacaoDeUnicidade(e)) {
+                    saida.accept(linha.resultado(ImportacaoResultado.Status.DUPLICADO, "Email já cadastrado no sistema"));
+                } else {
+                    log.error("Erro ao gravar usuário importado na linha {}: {}", linha.numero(), e.getMessage());
+                    saida.accept(linha.resultado(ImportacaoResultado.Status.ERRO, "Erro ao gravar usuário"));
+                }
+            } finally {
+                entityManager.clear();
+            }
+        }
+        return criados;
+    }
+
+    private Map<String, Integer> parseCabecalho(String cabecalho) {
+        String[] nomes = cabecalho.split(",", -1);
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.length; i++) {
+            colunas.put(nomes[i].trim().toLowerCase(), i);
+        }
+        return colunas;
+    }
+
+    private RegisterRequest parseCsv(String linha, Map<String, Integer> colunas) {
+        String[] valores = linha.split(",", -1);
+        return RegisterRequest.builder()
+                .name(valor(valores, colunas, "name"))
+                .email(valor(valores, colunas, "email"))
+                .password(valor(valores, colunas, "password"))
+                .build();
+    }
+
+    private String valor(String[] valores, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        return indice != null && indice < valores.length ? valores[indice].trim() : null;
+    }
+
+    private record LinhaImportacao(long numero, RegisterRequest request) {
+
+        String email() {
+            return request.getEmail();
+        }
+
+        Usuario toUsuario(String senhaCriptografada) {
+            return new Usuario(request.getName(), request.getEmail(), senhaCriptografada);
+        }
+
+        ImportacaoResultado resultado(ImportacaoResultado.Status status, String mensagem) {
+            return new ImportacaoResultado(numero, request.getEmail(), status, mensagem);
+        }
+    }
+}
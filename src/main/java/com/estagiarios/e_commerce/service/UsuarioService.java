@@ -2,22 +2,34 @@ package com.estagiarios.e_commerce.service;
 
 
 
+import com.estagiarios.e_commerce.datasource.ReadYourWritesTracker;
 import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.entity.Role;
 import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.exception.StacklessUsernameNotFoundException;
 import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.security.PasswordHashingExecutor;
 import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.UserPrincipalCache;
+import com.estagiarios.e_commerce.util.EmailUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashSet;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 /**
  * Service responsável pela gestão de usuários
@@ -31,38 +43,55 @@ public class UsuarioService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final EmailMembershipFilter emailFilter;
+    private final RefreshTokenService refreshTokenService;
+    private final ReadYourWritesTracker readYourWrites;
+
+    /** Sem o email: a mensagem é montada a cada login com usuário inexistente */
+    private static final String USUARIO_NAO_ENCONTRADO = "Usuário não encontrado";
 
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$"
-    );
 
 
 
     /**
-     * Registra um novo usuário no sistema
+     * Registra um novo usuário no sistema.
+     * A senha é criptografada antes de qualquer acesso ao banco, e a duplicidade de email
+     * é detectada pela própria constraint única no INSERT, sem consulta prévia; assim
+     * nenhuma conexão do pool fica presa durante o BCrypt e registros simultâneos com o
+     * mesmo email não passam pela verificação ao mesmo tempo.
      *
      * @param registerRequest dados do usuário para registro
      * @return usuário registrado
      * @throws IllegalArgumentException se email já existir ou dados inválidos
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Usuario registrarUsuario(RegisterRequest registerRequest) {
-        log.info("Iniciando registro de usuário com email: {}",
-                maskEmail(registerRequest.getEmail()));
-
         // Validações de negócio
         validateUserRegistration(registerRequest);
 
+        // Fora do try: saturação do pool de hashing não é erro de banco
+        Usuario usuario = buildUsuarioFromRequest(registerRequest);
+
         try {
-            // Criar novo usuário
-            Usuario usuario = buildUsuarioFromRequest(registerRequest);
-            Usuario usuarioSalvo = usuarioRepository.save(usuario);
+            // Criar novo usuário: uma única transação curta só para o INSERT
+            Usuario usuarioSalvo = usuarioRepository.saveAndFlush(usuario);
+            emailFilter.put(usuarioSalvo.getEmail());
+            // O login logo após o registro lê do primário, não de uma réplica atrasada
+            readYourWrites.markWritten(usuarioSalvo.getEmail(), usuarioSalvo.getId());
 
-            log.info("Usuário registrado com sucesso. ID: {}, Email: {}",
-                    usuarioSalvo.getId(), maskEmail(usuarioSalvo.getEmail()));
+            log.debug("Usuário registrado com sucesso. ID: {}", usuarioSalvo.getId());
 
             return usuarioSalvo;
 
+        } catch (DataIntegrityViolationException e) {
+            if (isViolacaoDeUnicidade(e)) {
+                log.debug("Registro recusado: email já cadastrado");
+                throw new IllegalArgumentException("Email já cadastrado no sistema");
+            }
+            log.error("Erro ao salvar usuário no banco de dados: {}", e.getMessage());
+            throw new RuntimeException("Erro interno ao registrar usuário", e);
         } catch (Exception e) {
             log.error("Erro ao salvar usuário no banco de dados: {}", e.getMessage());
             throw new RuntimeException("Erro interno ao registrar usuário", e);
@@ -78,27 +107,42 @@ public class UsuarioService implements UserDetailsService {
             throw new IllegalArgumentException("Email inválido");
         }
 
-        // Verificar se email já existe
-        if (usuarioRepository.existsByEmail(request.getEmail())) {
-            log.warn("Tentativa de registro com email já existente: {}",
-                    maskEmail(request.getEmail()));
-            throw new IllegalArgumentException("Email já cadastrado no sistema");
-        }
+        // Email duplicado é detectado pela constraint uk_usuarios_email no INSERT
 
         // Data de nascimento não é mais obrigatória no novo sistema
     }
 
+    /**
+     * Verifica se a falha do INSERT veio de uma constraint única; em usuarios a única
+     * constraint única além da chave primária é a do email
+     */
+    static boolean isViolacaoDeUnicidade(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                return violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+            }
+        }
+        return false;
+    }
+
     /**
      * Constrói um objeto Usuario a partir do RegisterRequest
      */
     private Usuario buildUsuarioFromRequest(RegisterRequest request) {
         return new Usuario(
                 request.getName(),
-                request.getEmail(),
-                passwordEncoder.encode(request.getPassword())
+                EmailUtils.normalize(request.getEmail()),
+                encodePassword(request.getPassword())
         );
     }
 
+    /**
+     * Gera o hash da senha no pool de hashing dedicado
+     */
+    private String encodePassword(String senha) {
+        return passwordHashingExecutor.execute(() -> passwordEncoder.encode(senha));
+    }
+
 
 
 
@@ -126,39 +170,119 @@ public class UsuarioService implements UserDetailsService {
      * Valida se o email está em formato válido
      */
     private boolean isValidEmail(String email) {
-        return StringUtils.hasText(email) && EMAIL_PATTERN.matcher(email).matches();
+        return EmailUtils.isValid(email);
     }
 
 
 
+
+    @Override
+    public UserDetails loadUserByUsername(String emailInformado) throws UsernameNotFoundException {
+        String email = EmailUtils.normalize(emailInformado);
+        // Resposta negativa do filtro é definitiva: dispensa a consulta ao banco
+        if (!emailFilter.mightContain(email)) {
+            throw new StacklessUsernameNotFoundException(USUARIO_NAO_ENCONTRADO);
+        }
+
+        // Só credenciais e roles, em uma instrução; a entidade completa não é necessária
+        UserPrincipal principal = UserPrincipal.create(
+                readYourWrites.read(email, () -> usuarioRepository.findCredenciaisByEmail(email)));
+        if (principal == null) {
+            throw new StacklessUsernameNotFoundException(USUARIO_NAO_ENCONTRADO);
+        }
+        return principal;
+    }
+
+    /**
+     * Carrega o principal pelo id, passando pelo cache de principals.
+     * Não abre transação: em um acerto de cache nenhuma conexão é obtida do pool.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserPrincipal loadUserById(Long id) {
+        return principalCache.get(id, this::carregarPrincipal);
+    }
+
     /**
-     * Mascara o email para logs (ex: user@domain.com -> u***@domain.com)
+     * Carrega o principal de um token JWT já verificado, conferindo a versão das credenciais.
+     * Se o token traz uma versão mais nova que a do cache, o cache está desatualizado
+     * (alteração feita em outra instância) e o principal é recarregado.
+     *
+     * @param id id do usuário (claim {@code sub})
+     * @param versaoToken versão das credenciais gravada no token (claim {@code ver})
+     * @return principal ou {@code null} se o token foi emitido antes da última alteração de credenciais
      */
-    private String maskEmail(String email) {
-        if (!StringUtils.hasText(email) || !email.contains("@")) {
-            return "***";
+    @Nullable
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserPrincipal loadUserForToken(Long id, int versaoToken) {
+        UserPrincipal principal = principalCache.get(id, this::carregarPrincipal);
+        if (principal.getVersaoCredenciais() < versaoToken) {
+            principalCache.invalidate(id);
+            principal = principalCache.get(id, this::carregarPrincipal);
         }
-        String[] parts = email.split("@");
-        String localPart = parts[0];
-        if (localPart.length() <= 1) {
-            return "***@" + parts[1];
+        if (principal.getVersaoCredenciais() != versaoToken) {
+            log.debug("Token do usuário {} emitido com versão de credenciais obsoleta", id);
+            return null;
         }
-        return localPart.charAt(0) + "***@" + parts[1];
+        return principal;
     }
 
-    @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + maskEmail(email)));
-
-        return UserPrincipal.create(usuario);
+    /**
+     * Altera a senha do usuário, invalidando os tokens e refresh tokens já emitidos
+     */
+    @Transactional
+    public void alterarSenha(Long id, String novaSenha) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com ID: " + id));
+        usuario.setSenha(encodePassword(novaSenha));
+        incrementarVersaoCredenciais(usuario);
     }
 
-    public UserDetails loadUserById(Long id) {
+    /**
+     * Substitui as roles do usuário, invalidando os tokens e refresh tokens já emitidos
+     */
+    @Transactional
+    public void atualizarRoles(Long id, Set<Role> roles) {
         Usuario usuario = usuarioRepository.findById(id)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com ID: " + id));
+        usuario.setRoles(new HashSet<>(roles));
+        incrementarVersaoCredenciais(usuario);
+    }
+
+    /**
+     * Encerra todas as sessões do usuário: access tokens emitidos até agora deixam de
+     * valer pela versão de credenciais e os refresh tokens são revogados
+     */
+    @Transactional
+    public void encerrarSessoes(Long id) {
+        Usuario usuario = usuarioRepository.findById(id)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com id: " + id));
+        incrementarVersaoCredenciais(usuario);
+    }
 
-        return UserPrincipal.create(usuario);
+    private void incrementarVersaoCredenciais(Usuario usuario) {
+        usuario.setVersaoCredenciais(usuario.getVersaoCredenciais() + 1);
+        usuarioRepository.save(usuario);
+
+        Long id = usuario.getId();
+        refreshTokenService.revogarTodos(id);
+        readYourWrites.markWritten(id, usuario.getEmail());
+        principalCache.invalidate(id);
+        // Invalida de novo após o commit para descartar cargas feitas com os dados antigos
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                principalCache.invalidate(id);
+            }
+        });
+    }
+
+    private UserPrincipal carregarPrincipal(Long id) {
+        UserPrincipal principal = UserPrincipal.create(
+                readYourWrites.read(id, () -> usuarioRepository.findCredenciaisById(id)));
+        if (principal == null) {
+            throw new UsernameNotFoundException("Usuário não encontrado com ID: " + id);
+        }
+        return principal;
     }
 
 
@@ -0,0 +1,63 @@
+package com.estagiarios.e_commerce.util;
+
+import com.estagiarios.e_commerce.dto.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ApiResponse} de mensagem fixa já serializado em JSON.
+ * O único campo variável é o timestamp, que tem resolução de segundos; por isso cada corpo
+ * é serializado no máximo uma vez por segundo e os bytes são reaproveitados nesse intervalo.
+ * O JSON é o mesmo que o Spring produziria para o objeto (usa o mesmo ObjectMapper).
+ */
+@Component
+public class ApiResponseCache {
+
+    private record Encoded(long epochSecond, byte[] json) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<String, Encoded> sucessos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Encoded> erros = new ConcurrentHashMap<>();
+
+    public ApiResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Corpo JSON de {@code new ApiResponse(sucesso, mensagem)}; a mensagem deve ser constante
+     */
+    public byte[] json(boolean sucesso, String mensagem) {
+        long now = System.currentTimeMillis() / 1000;
+        ConcurrentHashMap<String, Encoded> bodies = sucesso ? sucessos : erros;
+        Encoded encoded = bodies.get(mensagem);
+        if (encoded == null || encoded.epochSecond() != now) {
+            encoded = new Encoded(now, encode(sucesso, mensagem));
+            bodies.put(mensagem, encoded);
+        }
+        return encoded.json();
+    }
+
+    public ResponseEntity.BodyBuilder status(HttpStatus status) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+
+    public ResponseEntity<byte[]> error(HttpStatus status, String mensagem) {
+        return status(status).body(json(false, mensagem));
+    }
+
+    private byte[] encode(boolean sucesso, String mensagem) {
+        try {
+            return objectMapper.writeValueAsBytes(new ApiResponse(sucesso, mensagem));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.estagiarios.e_commerce.util;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitários de email compartilhados por controllers, services e auditoria
+ */
+public final class EmailUtils {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(
+            "^[A-Za-z0-9+_.-]+@([A-Za-z0-9.-]+\\.[A-Za-z]{2,})$"
+    );
+
+    private EmailUtils() {
+    }
+
+    /**
+     * Valida o formato do email usado no registro
+     */
+    public static boolean isValid(String email) {
+        return email != null && !email.isBlank() && EMAIL_PATTERN.matcher(email).matches();
+    }
+
+    /**
+     * Forma canônica do email gravada em {@code usuarios.email}: sem espaços nas pontas e
+     * em minúsculas. O schema exige essa forma (check {@code ck_usuarios_email_minusculo}),
+     * então buscas e a constraint única já tratam {@code Ana@x.com} e {@code ana@x.com} como iguais.
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mascara o email para logs: {@code ana@x.com} vira {@code a***@x.com}
+     */
+    public static String mask(String email) {
+        int at = email == null ? -1 : email.indexOf('@');
+        if (at < 0) {
+            return "***";
+        }
+        if (at <= 1) {
+            return "***" + email.substring(at);
+        }
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
+    /**
+     * Escreve o email mascarado direto no destino, sem criar strings intermediárias
+     */
+    public static void appendMasked(StringBuilder out, CharSequence email) {
+        int at = -1;
+        if (email != null) {
+            for (int i = 0; i < email.length(); i++) {
+                if (email.charAt(i) == '@') {
+                    at = i;
+                    break;
+                }
+            }
+        }
+        if (at < 0) {
+            out.append("***");
+            return;
+        }
+        if (at > 1) {
+            out.append(email.charAt(0));
+        }
+        out.append("***").append(email, at, email.length());
+    }
+}
@@ -0,0 +1,140 @@
+package com.estagiarios.e_commerce.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket por chave no formato GCRA (generic cell rate algorithm): o estado de cada
+ * chave é um único long, o instante teórico de chegada (TAT), atualizado por CAS.
+ * Não há thread de reabastecimento nem travas; o balde "se enche" com a passagem do tempo.
+ * <p>
+ * O número de chaves é limitado: com o mapa cheio, chaves novas caem em um array fixo de
+ * faixas compartilhadas por hash, o que só pode tornar o limite mais rígido, nunca mais frouxo.
+ * Chaves ociosas (balde cheio de novo) são removidas por {@link #evictIdle}.
+ */
+public final class GcraRateLimiter {
+
+    /**
+     * Célula sem tentativas. É conferida antes de qualquer conta: instantes de
+     * {@link System#nanoTime()} só têm sentido como diferenças entre si.
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> keys = new ConcurrentHashMap<>();
+    private final AtomicLongArray overflow;
+    private final int overflowMask;
+    private final LongAdder overflowAcquires = new LongAdder();
+
+    /**
+     * @param capacity        tentativas permitidas em rajada
+     * @param refillPerMinute tentativas devolvidas ao balde por minuto
+     * @param maxKeys         máximo de chaves rastreadas individualmente
+     * @param overflowStripes faixas compartilhadas além de {@code maxKeys} (arredondado para potência de 2)
+     */
+    public GcraRateLimiter(int capacity, int refillPerMinute, int maxKeys, int overflowStripes) {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("capacity e refillPerMinute devem ser positivos");
+        }
+        this.emissionIntervalNanos = 60_000_000_000L / refillPerMinute;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        int stripes = overflowStripes <= 1 ? 1 : Integer.highestOneBit(overflowStripes - 1) << 1;
+        this.overflow = new AtomicLongArray(stripes);
+        for (int i = 0; i < stripes; i++) {
+            overflow.set(i, EMPTY);
+        }
+        this.overflowMask = stripes - 1;
+    }
+
+    /**
+     * Consome uma tentativa da chave
+     *
+     * @param nowNanos instante atual em {@link System#nanoTime()}
+     * @return 0 se permitido; caso contrário, nanossegundos até a próxima tentativa permitida
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong cell = keys.get(key);
+        if (cell == null) {
+            if (keys.size() >= maxKeys) {
+                overflowAcquires.increment();
+                return tryAcquire(overflowIndex(key), nowNanos);
+            }
+            cell = keys.computeIfAbsent(key, k -> new AtomicLong(EMPTY));
+        }
+        while (true) {
+            long tat = cell.get();
+            long next = nextTat(tat, nowNanos);
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (cell.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove as chaves cujo balde já voltou a ficar cheio, pois são indistinguíveis de uma
+     * chave nova. Uma tentativa concorrente com a remoção pode ser perdida, o que no pior caso
+     * concede uma tentativa extra.
+     *
+     * @return quantidade de chaves removidas
+     */
+    public int evictIdle(long nowNanos) {
+        int before = keys.size();
+        keys.values().removeIf(cell -> isIdle(cell.get(), nowNanos));
+        for (int i = 0; i < overflow.length(); i++) {
+            long tat = overflow.get(i);
+            if (tat != EMPTY && isIdle(tat, nowNanos)) {
+                overflow.compareAndSet(i, tat, EMPTY);
+            }
+        }
+        return before - keys.size();
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public long getOverflowAcquireCount() {
+        return overflowAcquires.sum();
+    }
+
+    private long tryAcquire(int stripe, long nowNanos) {
+        while (true) {
+            long tat = overflow.get(stripe);
+            long next = nextTat(tat, nowNanos);
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (overflow.compareAndSet(stripe, tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * TAT depois de mais uma tentativa; um TAT no passado conta a partir de agora
+     */
+    private long nextTat(long tat, long nowNanos) {
+        long base = tat == EMPTY || tat - nowNanos < 0 ? nowNanos : tat;
+        return base + emissionIntervalNanos;
+    }
+
+    private static boolean isIdle(long tat, long nowNanos) {
+        return tat == EMPTY || tat - nowNanos <= 0;
+    }
+
+    private int overflowIndex(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & overflowMask;
+    }
+}
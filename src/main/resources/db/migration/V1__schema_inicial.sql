@@ -0,0 +1,21 @@
+-- Schema exatamente como o Hibernate o gerava no PostgreSQL (ddl-auto=update) antes da adoção
+-- das migrations, inclusive os nomes de constraint escolhidos pelo banco e pelo Hibernate.
+-- Bancos já existentes recebem esta versão como baseline (spring.flyway.baseline-on-migrate),
+-- então tudo o que veio depois precisa estar nas versões seguintes.
+
+create table usuarios (
+    data_nascimento date,
+    id bigint generated by default as identity,
+    nome varchar(100) not null,
+    email varchar(150) not null,
+    senha varchar(255) not null,
+    primary key (id),
+    constraint usuarios_email_key unique (email)
+);
+
+create table usuario_roles (
+    usuario_id bigint not null,
+    role varchar(255) check (role in ('USER','ADMIN','MODERATOR'))
+);
+
+alter table if exists usuario_roles add constraint FKuu9tea04xb29m2km5lwe46ua foreign key (usuario_id) references usuarios;
@@ -0,0 +1,10 @@
+-- Versão das credenciais (tokens emitidos antes de trocar senha ou roles deixam de valer) e
+-- atividade de login gravada em segundo plano. As constraints herdadas do ddl-auto ganham
+-- nomes estáveis, citados nas migrations seguintes e nos planos de consulta.
+
+alter table usuarios add column versao_credenciais integer default 0 not null;
+alter table usuarios add column ultimo_login timestamp(6);
+alter table usuarios add column tentativas_falhas integer default 0 not null;
+
+alter table usuarios rename constraint usuarios_email_key to uk_usuarios_email;
+alter table usuario_roles rename constraint FKuu9tea04xb29m2km5lwe46ua to fk_usuario_roles_usuario;
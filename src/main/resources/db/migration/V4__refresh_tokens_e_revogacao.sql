@@ -0,0 +1,29 @@
+-- Refresh tokens rotativos (só o SHA-256 do token é gravado) e access tokens revogados
+-- antes da expiração, usados para reconstruir a denylist em memória.
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    usuario_id bigint not null,
+    token_hash varchar(64) not null,
+    familia varchar(36) not null,
+    criado_em timestamp(6) not null,
+    expira_em timestamp(6) not null,
+    usado boolean not null,
+    revogado boolean not null,
+    primary key (id),
+    constraint uk_refresh_tokens_hash unique (token_hash)
+);
+
+create index idx_refresh_tokens_familia on refresh_tokens (familia);
+create index idx_refresh_tokens_usuario on refresh_tokens (usuario_id);
+
+create table tokens_revogados (
+    jti uuid not null,
+    usuario_id bigint not null,
+    expira_em timestamp(6) not null,
+    revogado_em timestamp(6) not null,
+    primary key (jti)
+);
+
+create index idx_tokens_revogados_expira_em on tokens_revogados (expira_em);
+create index idx_tokens_revogados_revogado_em on tokens_revogados (revogado_em);
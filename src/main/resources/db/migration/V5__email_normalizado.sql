@@ -0,0 +1,12 @@
+-- Emails passam a ser gravados na forma canônica (minúsculas, sem espaços nas pontas; ver
+-- EmailUtils.normalize). Assim a constraint uk_usuarios_email já impede Ana@x.com e ana@x.com
+-- ao mesmo tempo e as buscas por email usam o índice dela, sem lower() na consulta.
+-- Se existirem emails que só diferem na caixa, o UPDATE falha na constraint única e a
+-- migration não é aplicada: os duplicados precisam ser resolvidos antes.
+
+update usuarios set email = lower(trim(email)) where email <> lower(trim(email));
+
+alter table usuarios add constraint ck_usuarios_email_minusculo check (email = lower(email));
+
+-- Carga das roles por usuário (login e cache de principals) sem varrer a tabela
+create index idx_usuario_roles_usuario on usuario_roles (usuario_id);
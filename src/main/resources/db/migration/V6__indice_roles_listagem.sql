@@ -0,0 +1,4 @@
+-- Listagem administrativa filtrada por role: os usuários da role saem do índice já em
+-- ordem de id, então a paginação por keyset (usuario_id > ?) não ordena nem usa OFFSET.
+
+create index idx_usuario_roles_role on usuario_roles (role, usuario_id);
@@ -0,0 +1,8 @@
+-- Momento do cadastro, preenchido pelo relógio do banco. A sincronização incremental do filtro
+-- de emails lê os cadastros feitos depois da última leitura; o id não serve para isso porque
+-- cada instância reserva blocos de 50 da sequence e um id menor pode ser gravado depois.
+-- Usuários anteriores a esta migration ficam com o horário em que ela rodou.
+
+alter table usuarios add column criado_em timestamp default current_timestamp not null;
+
+create index idx_usuarios_criado_em on usuarios (criado_em);
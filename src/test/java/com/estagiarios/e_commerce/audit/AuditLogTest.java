@@ -0,0 +1,40 @@
+package com.estagiarios.e_commerce.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditLogTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void rotacaoNaoDivideLinhasEntreArquivos() throws Exception {
+        // Tamanho máximo zero: todo lote gravado rotaciona o arquivo
+        AuditLog auditLog = new AuditLog(true, dir.resolve("audit.log").toString(), 1024, 256, 0, 1000);
+        String detalhe = "x".repeat(900);
+        auditLog.start();
+        for (int i = 0; i < 500; i++) {
+            auditLog.record(AuditEventType.LOGIN_FAILURE, "ana@teste.com", i, "127.0.0.1", detalhe);
+        }
+        auditLog.stop();
+
+        List<String> linhas = new ArrayList<>();
+        try (Stream<Path> arquivos = Files.list(dir)) {
+            for (Path arquivo : arquivos.toList()) {
+                linhas.addAll(Files.readAllLines(arquivo));
+            }
+        }
+        assertThat(auditLog.getWrittenCount() + auditLog.getDroppedCount()).isEqualTo(500);
+        assertThat(linhas).hasSize((int) auditLog.getWrittenCount())
+                .allSatisfy(linha -> assertThat(linha).startsWith("{\"ts\":").endsWith(detalhe + "\"}"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.estagiarios.e_commerce.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+    @Test
+    void descartaQuandoCheioSemBloquear() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.publish(i, AuditEventType.LOGIN_SUCCESS, "a@x.com", i, "127.0.0.1", null)).isTrue();
+        }
+
+        assertThat(buffer.publish(5, AuditEventType.LOGIN_SUCCESS, "a@x.com", 5, "127.0.0.1", null)).isFalse();
+        assertThat(buffer.getDroppedCount()).isEqualTo(1);
+
+        buffer.release(buffer.peek());
+        assertThat(buffer.publish(6, AuditEventType.LOGIN_FAILURE, "b@x.com", 6, "127.0.0.1", null)).isTrue();
+    }
+
+    @Test
+    void consumidorRecebeTodosOsEventosDeVariosProdutores() throws Exception {
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    long id = (long) producer * perProducer + i;
+                    while (!buffer.publish(id, AuditEventType.LOGIN_SUCCESS, null, id, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        Set<Long> received = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+            AuditRingBuffer.Slot slot = buffer.peek();
+            if (slot == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            assertThat(slot.timestampMillis).isEqualTo(slot.userId);
+            received.add(slot.userId);
+            buffer.release(slot);
+        }
+        pool.shutdown();
+
+        assertThat(received).hasSize(producers * perProducer);
+    }
+}
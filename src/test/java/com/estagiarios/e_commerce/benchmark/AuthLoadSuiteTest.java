@@ -0,0 +1,178 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import com.estagiarios.e_commerce.ECommerceApplication;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.service.EmailMembershipFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Suíte de carga ponta a ponta: sobe a aplicação em porta aleatória com H2, cadastra
+ * {@code load.users} usuários e dispara register, login e GET /api/user/me pela cadeia de
+ * filtros real do {@code SecurityConfig}. Cada operação é medida isolada e depois todas
+ * juntas, com as threads divididas conforme {@code load.mix}.
+ * <p>
+ * Com {@code -Dload.baseUrl=http://host:8080} a carga vai para um servidor já em execução
+ * e os usuários são cadastrados pela API. O limitador de login fica desligado no servidor
+ * embutido, pois todos os clientes saem do mesmo IP.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=AuthLoadSuiteTest -Dload.users=10000 -Dload.concurrency=64 -Dload.duration=60</pre>
+ */
+@Slf4j
+@Tag("benchmark")
+class AuthLoadSuiteTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 1_000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 16);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 15));
+    private static final String MIX = System.getProperty("load.mix", "register:1,login:2,me:7");
+    private static final String BASE_URL = System.getProperty("load.baseUrl");
+    private static final String PASSWORD = "Senha@123";
+
+    @Test
+    void medirThroughputELatenciaPonta() throws Exception {
+        ConfigurableApplicationContext context = BASE_URL == null ? start() : null;
+        try {
+            String baseUrl = BASE_URL != null ? BASE_URL
+                    : "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpLoadDriver driver = new HttpLoadDriver(baseUrl);
+            String runId = Long.toString(System.currentTimeMillis(), 36);
+
+            if (context != null) {
+                seedDirectly(context);
+            } else {
+                seedThroughApi(driver);
+            }
+            List<String> tokens = login(driver, Math.min(USERS, CONCURRENCY));
+            Map<String, HttpLoadDriver.Request> operations = operations(driver, tokens, runId);
+
+            List<HttpLoadDriver.LoadResult> results = new ArrayList<>();
+            for (Map.Entry<String, HttpLoadDriver.Request> operation : operations.entrySet()) {
+                results.add(driver.run(new HttpLoadDriver.Scenario("isolado " + operation.getKey(), CONCURRENCY,
+                        operation.getValue()), WARMUP, DURATION));
+            }
+            results.addAll(driver.run(mixedScenarios(operations), WARMUP, DURATION));
+
+            List<String> report = new ArrayList<>();
+            for (HttpLoadDriver.LoadResult result : results) {
+                log.info("{}", result.summary());
+                report.add(result.toJson());
+                assertThat(result.requests()).isPositive();
+            }
+
+            Path output = Path.of("target", "benchmarks", "auth-load-suite.json");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, "[" + String.join(",\n", report) + "]\n");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private Map<String, HttpLoadDriver.Request> operations(HttpLoadDriver driver, List<String> tokens, String runId) {
+        Map<String, HttpLoadDriver.Request> operations = new LinkedHashMap<>();
+        AtomicLong registered = new AtomicLong();
+        operations.put("register", (worker, i) -> driver.post("/api/auth/register", String.format(
+                "{\"name\":\"Usuario Carga\",\"email\":\"novo-%s-%d@teste.com\",\"password\":\"%s\"}",
+                runId, registered.incrementAndGet(), PASSWORD), null).statusCode());
+        operations.put("login", (worker, i) -> driver.post("/api/auth/login",
+                loginJson((int) ((worker * 7919L + i) % USERS)), null).statusCode());
+        operations.put("me", (worker, i) -> driver.get("/api/user/me", tokens.get(worker % tokens.size())).statusCode());
+        return operations;
+    }
+
+    /**
+     * Divide as threads entre as operações na proporção de {@code load.mix}, com ao menos uma cada
+     */
+    private List<HttpLoadDriver.Scenario> mixedScenarios(Map<String, HttpLoadDriver.Request> operations) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : MIX.split(",")) {
+            String[] entry = part.trim().split(":");
+            weights.put(entry[0], Integer.parseInt(entry[1]));
+        }
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+
+        List<HttpLoadDriver.Scenario> scenarios = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            HttpLoadDriver.Request request = operations.get(name);
+            if (request == null) {
+                throw new IllegalArgumentException("Operação desconhecida em load.mix: " + name);
+            }
+            int threads = Math.max(1, Math.round((float) CONCURRENCY * weight / totalWeight));
+            scenarios.add(new HttpLoadDriver.Scenario("misto " + name, threads, request));
+        });
+        return scenarios;
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ECommerceApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--app.login-throttle.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:load-suite;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Grava os usuários direto pelo repositório com um único hash, evitando N execuções do BCrypt.
+     * Como o registro normal, cada email também entra no filtro de emails.
+     */
+    private void seedDirectly(ConfigurableApplicationContext context) {
+        UsuarioRepository repository = context.getBean(UsuarioRepository.class);
+        EmailMembershipFilter emailFilter = context.getBean(EmailMembershipFilter.class);
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<Usuario> batch = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            batch.add(new Usuario("Usuario Carga", email(i), hash));
+            if (batch.size() == 500 || i == USERS - 1) {
+                repository.saveAll(batch);
+                batch.forEach(usuario -> emailFilter.put(usuario.getEmail()));
+                batch.clear();
+            }
+        }
+    }
+
+    private void seedThroughApi(HttpLoadDriver driver) throws Exception {
+        for (int i = 0; i < USERS; i++) {
+            driver.post("/api/auth/register", String.format(
+                    "{\"name\":\"Usuario Carga\",\"email\":\"%s\",\"password\":\"%s\"}", email(i), PASSWORD), null);
+        }
+    }
+
+    private List<String> login(HttpLoadDriver driver, int count) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = driver.post("/api/auth/login", loginJson(i), null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            tokens.add(ThreadModeBenchmarkTest.extractToken(response.body()));
+        }
+        return tokens;
+    }
+
+    private static String email(int user) {
+        return "carga" + user + "@teste.com";
+    }
+
+    private static String loginJson(int user) {
+        return String.format("{\"email\":\"%s\",\"password\":\"%s\"}", email(user), PASSWORD);
+    }
+}
@@ -0,0 +1,55 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import com.estagiarios.e_commerce.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Mede memória, taxa de falso positivo e tempo de construção do filtro de emails
+ * para uma tabela de 10M usuários.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=EmailMembershipFilterBenchmarkTest -Dbench.users=10000000</pre>
+ */
+@Slf4j
+@Tag("benchmark")
+class EmailMembershipFilterBenchmarkTest {
+
+    private static final int USERS = Integer.getInteger("bench.users", 10_000_000);
+    private static final int PROBES = Integer.getInteger("bench.probes", 1_000_000);
+    private static final double FPP = 0.01;
+
+    @Test
+    void medirFiltroParaDezMilhoesDeEmails() throws Exception {
+        long started = System.nanoTime();
+        BloomFilter filter = BloomFilter.create(USERS, FPP);
+        for (int i = 0; i < USERS; i++) {
+            filter.put("usuario" + i + "@empresa.com.br");
+        }
+        double buildMillis = (System.nanoTime() - started) / 1e6;
+
+        int falsePositives = 0;
+        long probeStarted = System.nanoTime();
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain("ataque" + i + "@empresa.com.br")) {
+                falsePositives++;
+            }
+        }
+        double probeNanos = (System.nanoTime() - probeStarted) / (double) PROBES;
+
+        String result = String.format(Locale.ROOT,
+                "{\"users\":%d,\"memoryMb\":%.2f,\"hashFunctions\":%d,\"buildMs\":%.1f,"
+                        + "\"measuredFpp\":%.5f,\"expectedFpp\":%.5f,\"lookupNs\":%.1f}",
+                USERS, filter.memoryBytes() / 1024.0 / 1024.0, filter.hashFunctions(), buildMillis,
+                (double) falsePositives / PROBES, filter.expectedFalsePositiveRate(), probeNanos);
+        log.info("{}", result);
+
+        Path output = Path.of("target", "benchmarks", "email-filter.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, result + "\n");
+    }
+}
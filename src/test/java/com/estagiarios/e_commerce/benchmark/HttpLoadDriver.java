@@ -0,0 +1,226 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gerador de carga HTTP em processo usado pelos benchmarks.
+ * Cada cenário roda com N threads clientes em laço fechado; latências do período de
+ * aquecimento são descartadas.
+ */
+public final class HttpLoadDriver {
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public HttpLoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public HttpResponse<String> post(String path, String json, String bearerToken) throws Exception {
+        return post(path, json, bearerToken, new String[0]);
+    }
+
+    /**
+     * @param headers pares nome/valor de cabeçalhos extras, ex. {@code "X-Forwarded-For", "10.0.0.1"}
+     */
+    public HttpResponse<String> post(String path, String json, String bearerToken, String... headers) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        if (headers.length > 0) {
+            builder.headers(headers);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public HttpResponse<String> get(String path, String bearerToken) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public LoadResult run(Scenario scenario, Duration warmup, Duration duration) throws Exception {
+        return run(List.of(scenario), warmup, duration).get(0);
+    }
+
+    /**
+     * Executa os cenários ao mesmo tempo e devolve um resultado por cenário
+     */
+    public List<LoadResult> run(List<Scenario> scenarios, Duration warmup, Duration duration) throws Exception {
+        int totalThreads = scenarios.stream().mapToInt(Scenario::concurrency).sum();
+        ExecutorService pool = Executors.newFixedThreadPool(totalThreads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<List<Future<Worker>>> futures = new ArrayList<>();
+
+        for (Scenario scenario : scenarios) {
+            List<Future<Worker>> scenarioFutures = new ArrayList<>();
+            for (int i = 0; i < scenario.concurrency(); i++) {
+                Worker worker = new Worker(scenario.request(), scenario.thinkTime(), i);
+                scenarioFutures.add(pool.submit(() -> {
+                    start.await();
+                    worker.loop(warmup, duration);
+                    return worker;
+                }));
+            }
+            futures.add(scenarioFutures);
+        }
+
+        start.countDown();
+        List<LoadResult> results = new ArrayList<>();
+        try {
+            for (int s = 0; s < scenarios.size(); s++) {
+                List<Worker> workers = new ArrayList<>();
+                for (Future<Worker> future : futures.get(s)) {
+                    workers.add(future.get());
+                }
+                results.add(LoadResult.merge(scenarios.get(s).name(), workers, duration));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Uma requisição do cenário; devolve o status HTTP
+     */
+    @FunctionalInterface
+    public interface Request {
+        int execute(int worker, long iteration) throws Exception;
+    }
+
+    /**
+     * @param thinkTime pausa de cada cliente entre requisições, fora da latência medida
+     */
+    public record Scenario(String name, int concurrency, Request request, Duration thinkTime) {
+
+        public Scenario(String name, int concurrency, Request request) {
+            this(name, concurrency, request, Duration.ZERO);
+        }
+    }
+
+    public record LoadResult(String scenario, long requests, long errors, Duration duration, long[] sortedLatenciesNanos) {
+
+        static LoadResult merge(String scenario, List<Worker> workers, Duration duration) {
+            int total = workers.stream().mapToInt(w -> w.count).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            long errors = 0;
+            for (Worker worker : workers) {
+                System.arraycopy(worker.latencies, 0, all, offset, worker.count);
+                offset += worker.count;
+                errors += worker.errors;
+            }
+            Arrays.sort(all);
+            return new LoadResult(scenario, total, errors, duration, all);
+        }
+
+        public double throughputPerSecond() {
+            return requests / (duration.toNanos() / 1e9);
+        }
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (sortedLatenciesNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatenciesNanos.length) - 1;
+            return sortedLatenciesNanos[Math.max(0, index)] / 1e6;
+        }
+
+        public String summary() {
+            return String.format(Locale.ROOT,
+                    "%-32s req=%8d  rps=%9.1f  p50=%8.2fms  p99=%8.2fms  p999=%8.2fms  erros=%.2f%%",
+                    scenario, requests, throughputPerSecond(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9), errorRate() * 100);
+        }
+
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"scenario\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughput\":%.2f,"
+                            + "\"p50Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f}",
+                    scenario, requests, errors, throughputPerSecond(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9));
+        }
+    }
+
+    private static final class Worker {
+
+        private final Request request;
+        private final long thinkTimeMillis;
+        private final int id;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker(Request request, Duration thinkTime, int id) {
+            this.request = request;
+            this.thinkTimeMillis = thinkTime.toMillis();
+            this.id = id;
+        }
+
+        private void loop(Duration warmup, Duration duration) {
+            long measureStart = System.nanoTime() + warmup.toNanos();
+            long end = measureStart + duration.toNanos();
+            long iteration = 0;
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                boolean ok;
+                try {
+                    int status = request.execute(id, iteration++);
+                    ok = status >= 200 && status < 300;
+                } catch (Exception ex) {
+                    ok = false;
+                }
+                if (now >= measureStart) {
+                    record(System.nanoTime() - now, ok);
+                }
+                if (thinkTimeMillis > 0) {
+                    try {
+                        Thread.sleep(thinkTimeMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void record(long latency, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import com.estagiarios.e_commerce.ECommerceApplication;
+import com.estagiarios.e_commerce.security.LoginThrottle;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede o p99 de logins legítimos enquanto um único cliente ataca /api/auth/login com senhas
+ * erradas, com o limitador desligado e ligado. Cada cliente legítimo usa o próprio IP
+ * (via X-Forwarded-For) e faz um login a cada {@code bench.think-ms}.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=LoginThrottleBenchmarkTest -Dbench.attackers=32 -Dbench.duration=30</pre>
+ */
+@Slf4j
+@Tag("benchmark")
+class LoginThrottleBenchmarkTest {
+
+    private static final int LEGIT = Integer.getInteger("bench.legit", 16);
+    private static final int ATTACKERS = Integer.getInteger("bench.attackers", 16);
+    private static final Duration THINK = Duration.ofMillis(Integer.getInteger("bench.think-ms", 500));
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("bench.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("bench.duration", 15));
+    private static final String PASSWORD = "Senha@123";
+    private static final String ATTACKER_IP = "203.0.113.66";
+
+    @Test
+    void compararLoginsLegitimosSobAtaque() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (boolean throttled : new boolean[]{false, true}) {
+            String mode = throttled ? "throttle-on" : "throttle-off";
+            try (ConfigurableApplicationContext context = start(mode, throttled)) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                HttpLoadDriver driver = new HttpLoadDriver("http://localhost:" + port);
+                seedUsers(driver);
+
+                List<HttpLoadDriver.LoadResult> results = driver.run(List.of(
+                        new HttpLoadDriver.Scenario(mode + " legitimo", LEGIT,
+                                (worker, i) -> driver.post("/api/auth/login", loginJson(worker, PASSWORD), null,
+                                        "X-Forwarded-For", legitIp(worker)).statusCode(), THINK),
+                        new HttpLoadDriver.Scenario(mode + " atacante", ATTACKERS,
+                                (worker, i) -> driver.post("/api/auth/login", loginJson((int) (i % LEGIT), "Errada@" + i), null,
+                                        "X-Forwarded-For", ATTACKER_IP).statusCode())
+                ), WARMUP, DURATION);
+
+                for (HttpLoadDriver.LoadResult result : results) {
+                    log.info("{}", result.summary());
+                    report.add(result.toJson());
+                }
+                LoginThrottle throttle = context.getBean(LoginThrottle.class);
+                report.add(String.format(Locale.ROOT, "{\"scenario\":\"%s\",\"rejectedByIp\":%d,\"rejectedByEmail\":%d}",
+                        mode, throttle.getRejectedByIpCount(), throttle.getRejectedByEmailCount()));
+
+                HttpLoadDriver.LoadResult legit = results.get(0);
+                assertThat(legit.requests()).isPositive();
+                if (throttled) {
+                    assertThat(legit.errorRate()).isLessThan(0.01);
+                }
+            }
+        }
+
+        Path output = Path.of("target", "benchmarks", "login-throttle.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, "[" + String.join(",\n", report) + "]\n");
+    }
+
+    private ConfigurableApplicationContext start(String mode, boolean throttled) {
+        return new SpringApplicationBuilder(ECommerceApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--server.forward-headers-strategy=framework",
+                        "--app.login-throttle.enabled=" + throttled,
+                        "--app.login-throttle.ip.capacity=20",
+                        "--app.login-throttle.ip.refill-per-minute=240",
+                        "--app.login-throttle.email.capacity=10",
+                        "--app.login-throttle.email.refill-per-minute=240",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+    }
+
+    private void seedUsers(HttpLoadDriver driver) throws Exception {
+        for (int i = 0; i < LEGIT; i++) {
+            driver.post("/api/auth/register", String.format(
+                    "{\"name\":\"Usuario Bench\",\"email\":\"legit%d@teste.com\",\"password\":\"%s\"}", i, PASSWORD), null);
+        }
+    }
+
+    private static String legitIp(int worker) {
+        return "198.51.100." + (worker + 1);
+    }
+
+    private static String loginJson(int user, String password) {
+        return String.format("{\"email\":\"legit%d@teste.com\",\"password\":\"%s\"}", user, password);
+    }
+}
@@ -0,0 +1,90 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import com.estagiarios.e_commerce.service.RefreshTokenService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a vazão de emissão e a latência de rotação do armazenamento de refresh tokens.
+ * Por padrão usa o H2 do perfil de teste; para medir no Postgres basta passar
+ * {@code -Dspring.datasource.url=...} e as credenciais.
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=RefreshTokenStoreBenchmarkTest -Dbench.tokens=50000</pre>
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenStoreBenchmarkTest {
+
+    private static final int TOKENS = Integer.getInteger("bench.tokens", 20_000);
+    private static final int THREADS = Integer.getInteger("bench.concurrency", 8);
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    void medirEmissaoERotacao() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            long started = System.nanoTime();
+            List<Future<String>> emitidos = new ArrayList<>(TOKENS);
+            for (int i = 0; i < TOKENS; i++) {
+                long usuarioId = i % 1000;
+                emitidos.add(pool.submit(() -> refreshTokenService.emitir(usuarioId)));
+            }
+            List<String> tokens = new ArrayList<>(TOKENS);
+            for (Future<String> future : emitidos) {
+                tokens.add(future.get());
+            }
+            double emissaoPorSegundo = TOKENS / ((System.nanoTime() - started) / 1e9);
+
+            long[] latencias = new long[TOKENS];
+            List<Future<?>> rotacoes = new ArrayList<>(TOKENS);
+            started = System.nanoTime();
+            for (int i = 0; i < TOKENS; i++) {
+                int indice = i;
+                rotacoes.add(pool.submit(() -> {
+                    long inicio = System.nanoTime();
+                    refreshTokenService.rotacionar(tokens.get(indice));
+                    latencias[indice] = System.nanoTime() - inicio;
+                }));
+            }
+            for (Future<?> future : rotacoes) {
+                future.get();
+            }
+            double rotacaoPorSegundo = TOKENS / ((System.nanoTime() - started) / 1e9);
+            Arrays.sort(latencias);
+
+            String result = String.format(Locale.ROOT,
+                    "{\"tokens\":%d,\"threads\":%d,\"issuePerSec\":%.1f,\"rotatePerSec\":%.1f,"
+                            + "\"rotateP50Ms\":%.3f,\"rotateP99Ms\":%.3f}",
+                    TOKENS, THREADS, emissaoPorSegundo, rotacaoPorSegundo,
+                    latencias[TOKENS / 2] / 1e6, latencias[(int) (TOKENS * 0.99)] / 1e6);
+            log.info("{}", result);
+            assertThat(rotacaoPorSegundo).isPositive();
+
+            Path output = Path.of("target", "benchmarks", "refresh-token-store.json");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, result + "\n");
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.estagiarios.e_commerce.benchmark;
+
+import com.estagiarios.e_commerce.ECommerceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara throughput e p99 de /api/auth/login e de um endpoint autenticado no modo
+ * servlet (Tomcat + JDBC) e no modo reativo (profile reactive: Netty + R2DBC).
+ *
+ * <pre>mvn test -Pbenchmark -Dtest=ServletVsReactiveBenchmarkTest -Dbench.concurrency=256 -Dbench.duration=30</pre>
+ */
+@Slf4j
+@Tag("benchmark")
+class ServletVsReactiveBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("bench.warmup", 5));
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("bench.duration", 15));
+    private static final String PASSWORD = "Senha@123";
+
+    @Test
+    void compararServletComReativo() throws Exception {
+        List<String> report = new ArrayList<>();
+        for (String mode : List.of("servlet", "reactive")) {
+            try (ConfigurableApplicationContext context = start(mode)) {
+                int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                HttpLoadDriver driver = new HttpLoadDriver("http://localhost:" + port);
+
+                List<String> tokens = seedUsers(driver, CONCURRENCY);
+
+                HttpLoadDriver.LoadResult login = driver.run(new HttpLoadDriver.Scenario(mode + " /api/auth/login", CONCURRENCY,
+                        (worker, i) -> driver.post("/api/auth/login", loginJson(worker), null).statusCode()), WARMUP, DURATION);
+                HttpLoadDriver.LoadResult me = driver.run(new HttpLoadDriver.Scenario(mode + " /api/user/me", CONCURRENCY,
+                        (worker, i) -> driver.get("/api/user/me", tokens.get(worker)).statusCode()), WARMUP, DURATION);
+
+                for (HttpLoadDriver.LoadResult result : List.of(login, me)) {
+                    log.info("{}", result.summary());
+                    report.add(result.toJson());
+                    assertThat(result.requests()).isPositive();
+                }
+            }
+        }
+
+        Path output = Path.of("target", "benchmarks", "servlet-vs-reactive.json");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, "[" + String.join(",\n", report) + "]\n");
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ECommerceApplication.class);
+        builder = "reactive".equals(mode) ? builder.profiles("test", "reactive") : builder.profiles("test");
+        return builder.run("--server.port=0",
+                "--app.login-throttle.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///bench-" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--logging.level.root=WARN");
+    }
+
+    private List<String> seedUsers(HttpLoadDriver driver, int count) throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            driver.post("/api/auth/register", String.format(
+                    "{\"name\":\"Usuario Bench\",\"email\":\"bench%d@teste.com\",\"password\":\"%s\"}", i, PASSWORD), null);
+            HttpResponse<String> response = driver.post("/api/auth/login", loginJson(i), null);
+            assertThat(response.statusCode()).isEqualTo(200);
+            tokens.add(ThreadModeBenchmarkTest.extractToken(response.body()));
+        }
+        return tokens;
+    }
+
+    private static String loginJson(int user) {
+        return String.format("{\"email\":\"bench%d@teste.com\",\"password\":\"%s\"}", user, PASSWORD);
+    }
+}
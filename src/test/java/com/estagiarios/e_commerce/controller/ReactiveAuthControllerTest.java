@@ -0,0 +1,97 @@
+package com.estagiarios.e_commerce.controller;
+
+import com.estagiarios.e_commerce.dto.JwtAuthenticationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * O modo reativo (profile reactive) responde {@code /api/auth} com o mesmo contrato do
+ * modo servlet: status, corpos e autorização por token.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.r2dbc.url=r2dbc:h2:mem:///test;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "app.login-throttle.enabled=false"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles({"test", "reactive"})
+class ReactiveAuthControllerTest {
+
+    private static final String SENHA = "Senha@123";
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Test
+    void atendeNoNetty() {
+        assertThat(context.getWebServer()).isInstanceOf(NettyWebServer.class);
+    }
+
+    @Test
+    void registroLoginEAcessoComToken() {
+        String email = "reativo" + System.nanoTime() + "@teste.com";
+        post("/api/auth/register", register(email), null).expectStatus().isCreated()
+                .expectBody().jsonPath("$.sucesso").isEqualTo(true);
+        post("/api/auth/register", register(email), null).expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.mensage").isEqualTo("Email já cadastrado no sistema");
+
+        post("/api/auth/login", login(email, "Errada@123"), null).expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.mensage").isEqualTo("Email ou senha inválidos");
+        post("/api/auth/login", login("ninguem@teste.com", SENHA), null).expectStatus().isUnauthorized()
+                .expectBody().jsonPath("$.mensage").isEqualTo("Email ou senha inválidos");
+        post("/api/auth/login", "{\"password\":\"x\"}", null).expectStatus().isBadRequest()
+                .expectBody(String.class).value(body -> assertThat(body).startsWith("Dados inválidos"));
+
+        JwtAuthenticationResponse tokens = post("/api/auth/login", login(email.toUpperCase(), SENHA), null)
+                .expectStatus().isOk()
+                .expectBody(JwtAuthenticationResponse.class).returnResult().getResponseBody();
+        assertThat(tokens).isNotNull();
+
+        client.get().uri("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.getAccessToken())
+                .exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo(email)
+                .jsonPath("$.roles[0]").isEqualTo("ROLE_USER");
+        client.get().uri("/api/user/me").exchange().expectStatus().isForbidden();
+
+        JwtAuthenticationResponse renovado = post("/api/auth/refresh",
+                "{\"refreshToken\":\"" + tokens.getRefreshToken() + "\"}", null)
+                .expectStatus().isOk()
+                .expectBody(JwtAuthenticationResponse.class).returnResult().getResponseBody();
+        assertThat(renovado).isNotNull();
+        assertThat(renovado.getRefreshToken()).isNotEqualTo(tokens.getRefreshToken());
+
+        post("/api/auth/logout", "{}", renovado.getAccessToken()).expectStatus().isOk();
+        client.get().uri("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + renovado.getAccessToken())
+                .exchange().expectStatus().isForbidden();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, String json, String token) {
+        WebTestClient.RequestBodySpec request = client.post().uri(uri).contentType(MediaType.APPLICATION_JSON);
+        if (token != null) {
+            request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        return request.bodyValue(json).exchange();
+    }
+
+    private static String register(String email) {
+        return "{\"name\":\"Usuario Reativo\",\"email\":\"" + email + "\",\"password\":\"" + SENHA + "\"}";
+    }
+
+    private static String login(String email, String senha) {
+        return "{\"email\":\"" + email + "\",\"password\":\"" + senha + "\"}";
+    }
+}
@@ -0,0 +1,122 @@
+package com.estagiarios.e_commerce.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roteamento entre dois bancos H2 em memória, cada um identificado pelo conteúdo da tabela
+ * {@code origem}: leituras vão para a réplica, escritas e leituras após escrita para o primário.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DriverManagerDataSource primario;
+    private FalhavelDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void setUp() {
+        primario = banco("primario");
+        replica = new FalhavelDataSource(banco("replica"));
+        routing = new ReplicaRoutingDataSource(primario, Map.of("replica-0", replica), 1);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escrita = new TransactionTemplate(transactionManager);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        new JdbcTemplate(primario).execute("drop table origem");
+        new JdbcTemplate(replica).execute("drop table origem");
+    }
+
+    @Test
+    void leituraVaiParaReplicaEEscritaParaPrimario() {
+        assertThat(em(leitura, this::origem)).isEqualTo("replica");
+        assertThat(em(escrita, this::origem)).isEqualTo("primario");
+        assertThat(origem()).isEqualTo("primario");
+    }
+
+    @Test
+    void leituraLogoAposEscritaVaiParaPrimario() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(true, 60_000);
+        escrita.executeWithoutResult(status -> {
+            jdbcTemplate.update("update origem set nome = nome");
+            tracker.markWritten("novo@teste.com", 7L);
+            // A janela só começa no commit
+            assertThat(tracker.wasRecentlyWritten("novo@teste.com")).isFalse();
+        });
+
+        assertThat(em(leitura, () -> tracker.read("novo@teste.com", this::origem))).isEqualTo("primario");
+        assertThat(em(leitura, () -> tracker.read(7L, this::origem))).isEqualTo("primario");
+        assertThat(em(leitura, () -> tracker.read("outro@teste.com", this::origem))).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaForaDoArCaiParaPrimarioEVoltaAposVerificacao() {
+        replica.fora = true;
+        assertThat(em(leitura, this::origem)).isEqualTo("primario");
+        assertThat(routing.getHealthyReplicaCount()).isZero();
+
+        replica.fora = false;
+        assertThat(em(leitura, this::origem)).isEqualTo("primario");
+
+        routing.checkReplicas();
+        assertThat(routing.getHealthyReplicaCount()).isEqualTo(1);
+        assertThat(em(leitura, this::origem)).isEqualTo("replica");
+    }
+
+    private static String em(TransactionTemplate transacao, Supplier<String> consulta) {
+        return transacao.execute(status -> consulta.get());
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("select nome from origem", String.class);
+    }
+
+    private static DriverManagerDataSource banco(String nome) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table origem (nome varchar(20))");
+        template.update("insert into origem (nome) values (?)", nome);
+        return dataSource;
+    }
+
+    private static final class FalhavelDataSource extends DelegatingDataSource {
+
+        private volatile boolean fora;
+
+        private FalhavelDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (fora) {
+                throw new SQLException("réplica fora do ar");
+            }
+            return super.getConnection();
+        }
+    }
+}
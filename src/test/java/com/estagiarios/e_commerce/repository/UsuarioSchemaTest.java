@@ -0,0 +1,144 @@
+package com.estagiarios.e_commerce.repository;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.service.UsuarioService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Schema criado pelas migrations (o Hibernate só valida): emails na forma canônica e
+ * buscas por email e por roles usando índice.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioSchemaTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Test
+    void migrationsAplicadas() {
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3", "4", "5", "6", "7");
+    }
+
+    @Test
+    void bancoAnteriorAoFlywayMigraParaOMesmoSchema() {
+        // Schema do ddl-auto=update no PostgreSQL, com o nome de constraint que o banco escolhia
+        DriverManagerDataSource legado = new DriverManagerDataSource("jdbc:h2:mem:legado;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(legado);
+        jdbc.execute("create table usuarios (data_nascimento date, id bigint generated by default as identity, "
+                + "nome varchar(100) not null, email varchar(150) not null, senha varchar(255) not null, "
+                + "primary key (id), constraint usuarios_email_key unique (email))");
+        jdbc.execute("create table usuario_roles (usuario_id bigint not null, "
+                + "role varchar(255) check (role in ('USER','ADMIN','MODERATOR')))");
+        jdbc.execute("alter table if exists usuario_roles add constraint FKuu9tea04xb29m2km5lwe46ua "
+                + "foreign key (usuario_id) references usuarios");
+        jdbc.update("insert into usuarios (id, nome, email, senha) values (1234, 'Legado', ' Legado@Teste.com', 'x')");
+        jdbc.update("insert into usuario_roles (usuario_id, role) values (1234, 'USER')");
+
+        Flyway.configure()
+                .dataSource(legado)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(esquema(jdbc)).containsExactlyElementsOf(esquema(jdbcTemplate));
+        assertThat(jdbc.queryForObject("select email from usuarios where id = 1234", String.class))
+                .isEqualTo("legado@teste.com");
+        assertThat(jdbc.queryForObject("select versao_credenciais from usuarios where id = 1234", Integer.class))
+                .isZero();
+        // O Hibernate usa os 50 ids que terminam no valor do nextval
+        Long proximo = jdbc.queryForObject("select next value for usuarios_seq", Long.class);
+        assertThat(proximo - 49).isGreaterThan(1234);
+    }
+
+    @Test
+    void emailComMaiusculasNaoEntraNoBanco() {
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "insert into usuarios (id, nome, email, senha) values (-1, 'Ana', 'Ana@Teste.com', 'x')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void emailsQueSoDiferemNaCaixaSaoOMesmoUsuario() {
+        usuarioService.registrarUsuario(registro("Caixa.Mista@Teste.com"));
+
+        assertThatThrownBy(() -> usuarioService.registrarUsuario(registro("caixa.mista@teste.com")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email já cadastrado no sistema");
+        assertThat(usuarioService.loadUserByUsername(" CAIXA.MISTA@teste.com ").getUsername())
+                .isEqualTo("caixa.mista@teste.com");
+    }
+
+    @Test
+    void buscasDeAutenticacaoUsamIndice() {
+        String porEmail = explain("select id, senha from usuarios where email = 'ana@teste.com'");
+        String porRoles = explain("select role from usuario_roles where usuario_id = 1");
+        // Comparação sem normalização no banco, como seria necessário sem a forma canônica
+        String porLower = explain("select id, senha from usuarios where lower(email) = 'ana@teste.com'");
+
+        assertThat(porEmail).containsIgnoringCase("uk_usuarios_email");
+        // O H2 também indexa a FK sozinho; no PostgreSQL o índice vem da migration V5
+        assertThat(porRoles).doesNotContainIgnoringCase("tableScan");
+        assertThat(porLower).containsIgnoringCase("tableScan");
+    }
+
+    /**
+     * Colunas, constraints e índices com nome definido pelas migrations; os nomes que o H2
+     * gera sozinho (chave primária, check e índices das constraints) ficam de fora
+     */
+    private static List<String> esquema(JdbcTemplate jdbc) {
+        List<String> esquema = new ArrayList<>(jdbc.queryForList(
+                "select table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable || ' ' "
+                        + "|| is_identity || ' ' || coalesce(column_default, '') from information_schema.columns "
+                        + "where table_schema = 'PUBLIC' and table_name <> 'flyway_schema_history' "
+                        + "order by table_name, column_name", String.class));
+        esquema.addAll(jdbc.queryForList(
+                "select table_name || ' ' || constraint_type || ' ' || constraint_name "
+                        + "from information_schema.table_constraints where table_schema = 'PUBLIC' "
+                        + "and table_name <> 'flyway_schema_history' and constraint_name not like 'CONSTRAINT%' "
+                        + "order by constraint_name", String.class));
+        esquema.addAll(jdbc.queryForList(
+                "select table_name || ' ' || index_name from information_schema.indexes "
+                        + "where table_schema = 'PUBLIC' and index_name like 'IDX%' order by index_name", String.class));
+        esquema.addAll(jdbc.queryForList(
+                "select sequence_name || ' ' || increment from information_schema.sequences "
+                        + "where sequence_schema = 'PUBLIC'", String.class));
+        return esquema;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+    private static RegisterRequest registro(String email) {
+        return RegisterRequest.builder()
+                .name("Caixa Mista")
+                .email(email)
+                .password("Senha@123")
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.exception.PasswordHashingSaturatedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void filaCheiaRecusaNaHora() throws Exception {
+        executor = new PasswordHashingExecutor(1, 1, 5_000);
+        CompletableFuture.runAsync(() -> executor.execute(this::bloquear));
+        CompletableFuture.runAsync(() -> executor.execute(this::bloquear));
+        aguardar(() -> executor.getActiveCount() == 1 && executor.getQueueDepth() == 1);
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> "x"))
+                .isInstanceOf(PasswordHashingSaturatedException.class)
+                .hasMessageContaining("saturado");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).isLessThan(1_000);
+        assertThatThrownBy(() -> executor.submit(() -> "x").block())
+                .isInstanceOf(PasswordHashingSaturatedException.class);
+        assertThat(executor.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tempoLimiteViraSaturacao() {
+        executor = new PasswordHashingExecutor(1, 4, 100);
+
+        assertThatThrownBy(() -> executor.execute(this::bloquear))
+                .isInstanceOf(PasswordHashingSaturatedException.class)
+                .hasMessageContaining("Tempo limite");
+        assertThatThrownBy(() -> executor.submit(this::bloquear).block())
+                .isInstanceOf(PasswordHashingSaturatedException.class)
+                .hasMessageContaining("Tempo limite");
+    }
+
+    @Test
+    void excecaoDaTarefaChegaSemConversao() {
+        executor = new PasswordHashingExecutor(1, 4, 5_000);
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new IllegalArgumentException("falha");
+        })).isInstanceOf(IllegalArgumentException.class).hasMessage("falha");
+        assertThat(executor.execute(() -> "ok")).isEqualTo("ok");
+        assertThat(executor.getCompletedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void encoderDoPoolSoLevaOHashParaAsThreadsDeHashing() {
+        executor = new PasswordHashingExecutor(1, 4, 5_000);
+        PasswordEncoder registraThread = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return Thread.currentThread().getName();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return Thread.currentThread().getName().startsWith("password-hash-");
+            }
+        };
+        PasswordEncoder encoder = new PooledPasswordEncoder(registraThread, executor);
+
+        assertThat(encoder.encode("senha")).startsWith("password-hash-");
+        assertThat(encoder.matches("senha", "hash")).isTrue();
+    }
+
+    private String bloquear() {
+        try {
+            liberar.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "liberado";
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean() && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        assertThat(condicao.getAsBoolean()).isTrue();
+    }
+}
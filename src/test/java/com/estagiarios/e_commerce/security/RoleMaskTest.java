@@ -0,0 +1,73 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.metrics.AuthMetrics;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoleMaskTest {
+
+    private static final String SECRET = "mySecretKey123456789012345678901234567890123456789012345678901234567890";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 900_000);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+    }
+
+    @Test
+    void principalReusaAsMesmasAuthorities() {
+        UserPrincipal a = UserPrincipal.create(usuario(Role.USER, Role.ADMIN));
+        UserPrincipal b = UserPrincipal.create(usuario(Role.ADMIN, Role.USER));
+
+        assertThat(a.getAuthorities()).isSameAs(b.getAuthorities());
+        assertThat(a.getRoles()).containsExactlyInAnyOrder(Role.USER, Role.ADMIN);
+        assertThat(RoleMask.authorityNames(a.getRoleMask())).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void tokenComBitmaskEMenorETemAsMesmasRoles() {
+        Usuario usuario = usuario(Role.USER, Role.MODERATOR);
+        String compacto = tokenProvider.generateToken(UserPrincipal.create(usuario));
+        String antigo = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("1")
+                .claim("roles", List.of("ROLE_USER", "ROLE_MODERATOR"))
+                .claim("ver", 0)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .compact();
+
+        VerifiedToken novo = tokenProvider.verifyToken(compacto);
+        VerifiedToken legado = tokenProvider.verifyToken(antigo);
+
+        assertThat(novo.roleMask()).isEqualTo(Role.USER.bit() | Role.MODERATOR.bit());
+        assertThat(legado.roleMask()).isEqualTo(novo.roleMask());
+        assertThat(legado.roles()).containsExactly("ROLE_USER", "ROLE_MODERATOR");
+        assertThat(compacto.length()).isLessThan(antigo.length());
+    }
+
+    private static Usuario usuario(Role... roles) {
+        Usuario usuario = new Usuario("Teste", "teste@teste.com", "hash");
+        usuario.setId(1L);
+        usuario.setRoles(Set.of(roles));
+        return usuario;
+    }
+}
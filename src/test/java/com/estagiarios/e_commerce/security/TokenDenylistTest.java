@@ -0,0 +1,63 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private static final long LIFETIME_MS = 900_000;
+
+    @Test
+    void revogaApenasOsJtiInformados() {
+        TokenDenylist denylist = new TokenDenylist(300, LIFETIME_MS);
+        long exp = System.currentTimeMillis() + LIFETIME_MS;
+
+        List<VerifiedToken> revogados = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            VerifiedToken token = token(UUID.randomUUID(), exp - i * 500L);
+            assertThat(denylist.revoke(token.jtiHigh(), token.jtiLow(), token.expiresAt())).isTrue();
+            revogados.add(token);
+        }
+
+        assertThat(revogados).allMatch(denylist::isRevoked);
+        assertThat(denylist.isRevoked(token(UUID.randomUUID(), exp))).isFalse();
+        assertThat(denylist.size()).isEqualTo(1_000);
+    }
+
+    @Test
+    void ignoraTokensSemJtiOuJaExpirados() {
+        TokenDenylist denylist = new TokenDenylist(300, LIFETIME_MS);
+        UUID jti = UUID.randomUUID();
+
+        assertThat(denylist.revoke(0, 0, System.currentTimeMillis() + LIFETIME_MS)).isFalse();
+        assertThat(denylist.revoke(jti.getMostSignificantBits(), jti.getLeastSignificantBits(),
+                System.currentTimeMillis() - 1)).isFalse();
+        assertThat(denylist.size()).isZero();
+    }
+
+    @Test
+    void descartaBaldesExpirados() {
+        TokenDenylist denylist = new TokenDenylist(1, LIFETIME_MS);
+        VerifiedToken token = token(UUID.randomUUID(), System.currentTimeMillis() + 200);
+        assertThat(denylist.revoke(token.jtiHigh(), token.jtiLow(), token.expiresAt())).isTrue();
+
+        long fimDoBalde = (token.expiresAt() / 1000 + 1) * 1000;
+        while (System.currentTimeMillis() < fimDoBalde) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(denylist.purgeExpired()).isEqualTo(1);
+        assertThat(denylist.size()).isZero();
+    }
+
+    private static VerifiedToken token(UUID jti, long expiresAt) {
+        return new VerifiedToken(1L, Role.USER.bit(), expiresAt, 0,
+                jti.getMostSignificantBits(), jti.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,130 @@
+package com.estagiarios.e_commerce.security;
+
+import com.estagiarios.e_commerce.entity.Role;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    @Test
+    void contaAcertosEFaltas() {
+        UserPrincipalCache cache = new UserPrincipalCache(100, 60_000);
+        AtomicInteger cargas = new AtomicInteger();
+
+        UserPrincipal primeiro = cache.get(1L, id -> principal(id, cargas));
+        UserPrincipal segundo = cache.get(1L, id -> principal(id, cargas));
+
+        assertThat(segundo).isSameAs(primeiro);
+        assertThat(cargas).hasValue(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void faltasSimultaneasCompartilhamUmaCarga() throws Exception {
+        UserPrincipalCache cache = new UserPrincipalCache(100, 60_000);
+        AtomicInteger cargas = new AtomicInteger();
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<UserPrincipal> lider = executor.submit(() -> cache.get(7L, id -> {
+                cargaIniciada.countDown();
+                await(liberarCarga);
+                return principal(id, cargas);
+            }));
+            assertThat(cargaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<UserPrincipal> seguidor1 = executor.submit(() -> cache.get(7L, id -> principal(id, cargas)));
+            Future<UserPrincipal> seguidor2 = executor.submit(() -> cache.get(7L, id -> principal(id, cargas)));
+            // Dá tempo para os seguidores chegarem à carga em andamento
+            Thread.sleep(100);
+            liberarCarga.countDown();
+
+            UserPrincipal carregado = lider.get(5, TimeUnit.SECONDS);
+            assertThat(seguidor1.get(5, TimeUnit.SECONDS)).isSameAs(carregado);
+            assertThat(seguidor2.get(5, TimeUnit.SECONDS)).isSameAs(carregado);
+            assertThat(cargas).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void entradaExpiradaPorTtlERecarregada() throws InterruptedException {
+        UserPrincipalCache cache = new UserPrincipalCache(100, 20);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.get(1L, id -> principal(id, cargas));
+        Thread.sleep(40);
+        cache.get(1L, id -> principal(id, cargas));
+
+        assertThat(cargas).hasValue(2);
+        assertThat(cache.getIfPresent(2L)).isNull();
+    }
+
+    @Test
+    void invalidacaoForcaNovaCargaEDescartaCargaEmAndamento() {
+        UserPrincipalCache cache = new UserPrincipalCache(100, 60_000);
+        AtomicInteger cargas = new AtomicInteger();
+
+        cache.get(1L, id -> principal(id, cargas));
+        cache.invalidate(1L);
+        cache.get(1L, id -> principal(id, cargas));
+        assertThat(cargas).hasValue(2);
+
+        // Invalidação durante a carga: o resultado é devolvido mas não fica em cache
+        cache.invalidate(1L);
+        cache.get(1L, id -> {
+            cache.invalidate(id);
+            return principal(id, cargas);
+        });
+        assertThat(cache.getIfPresent(1L)).isNull();
+
+        // Carga assíncrona com marca anterior a uma invalidação também é descartada
+        long stamp = cache.invalidationStamp();
+        cache.invalidate(2L);
+        cache.putLoaded(2L, principal(2L, cargas), stamp);
+        assertThat(cache.getIfPresent(2L)).isNull();
+    }
+
+    @Test
+    void cacheCheioDescartaOsMenosAcessados() throws InterruptedException {
+        UserPrincipalCache cache = new UserPrincipalCache(10, 60_000);
+        AtomicInteger cargas = new AtomicInteger();
+        for (long id = 1; id <= 10; id++) {
+            cache.get(id, i -> principal(i, cargas));
+        }
+        Thread.sleep(5);
+        cache.get(10L, i -> principal(i, cargas));
+
+        cache.get(11L, i -> principal(i, cargas));
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.getIfPresent(10L)).isNotNull();
+        assertThat(cache.getIfPresent(11L)).isNotNull();
+    }
+
+    private static UserPrincipal principal(Long id, AtomicInteger cargas) {
+        cargas.incrementAndGet();
+        return new UserPrincipal(id, null, "u" + id + "@teste.com", "hash", RoleMask.of(Set.of(Role.USER)), 0);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
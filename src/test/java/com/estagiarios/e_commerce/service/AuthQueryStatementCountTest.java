@@ -0,0 +1,79 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.security.UserPrincipal;
+import com.estagiarios.e_commerce.security.UserPrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Quantidade de instruções SQL nos caminhos de autenticação: o login e a carga do
+ * principal de um token devem ler credenciais e roles em uma única instrução.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class AuthQueryStatementCountTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        usuario = usuarioService.registrarUsuario(RegisterRequest.builder()
+                .name("Contagem Sql")
+                .email("contagem" + System.nanoTime() + "@teste.com")
+                .password("Senha@123")
+                .build());
+        usuarioService.atualizarRoles(usuario.getId(), Set.of(Role.USER, Role.MODERATOR));
+        principalCache.invalidate(usuario.getId());
+        statistics.clear();
+    }
+
+    @Test
+    void loginLeCredenciaisERolesEmUmaInstrucao() {
+        UserPrincipal principal = (UserPrincipal) usuarioService.loadUserByUsername(usuario.getEmail());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(principal.getPassword()).isEqualTo(usuario.getSenha());
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_MODERATOR");
+    }
+
+    @Test
+    void requisicaoAutenticadaUsaUmaInstrucaoSoNaFaltaDoCache() {
+        int versao = usuarioService.loadUserById(usuario.getId()).getVersaoCredenciais();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        UserPrincipal principal = usuarioService.loadUserForToken(usuario.getId(), versao);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getRoles()).containsExactlyInAnyOrder(Role.USER, Role.MODERATOR);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
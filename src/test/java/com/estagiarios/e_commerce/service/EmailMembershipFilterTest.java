@@ -0,0 +1,46 @@
+package com.estagiarios.e_commerce.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cadastros feitos fora desta instância (aqui, direto no banco) entram no filtro
+ * pela sincronização incremental, sem esperar a reconstrução.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailMembershipFilterTest {
+
+    @Autowired
+    private EmailMembershipFilter emailFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        emailFilter.rebuild();
+        // A construção da subida roda em segundo plano e pode estar em andamento
+        while (!emailFilter.isReady()) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void sincronizacaoTrazCadastrosDeOutrasInstancias() {
+        String email = "outra-instancia" + System.nanoTime() + "@teste.com";
+        assertThat(emailFilter.mightContain(email)).isFalse();
+
+        jdbcTemplate.update("insert into usuarios (id, nome, email, senha) values (next value for usuarios_seq, ?, ?, ?)",
+                "Outra Instancia", email, "x");
+        emailFilter.sincronizar();
+
+        assertThat(emailFilter.mightContain(email)).isTrue();
+    }
+}
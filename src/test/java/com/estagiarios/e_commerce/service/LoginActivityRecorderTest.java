@@ -0,0 +1,105 @@
+package com.estagiarios.e_commerce.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginActivityRecorderTest {
+
+    private static final int USUARIOS = 50;
+
+    private final AtomicInteger lotes = new AtomicInteger();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void criarTabela() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:atividade;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, BatchPreparedStatementSetter pss) {
+                lotes.incrementAndGet();
+                return super.batchUpdate(sql, pss);
+            }
+        };
+        jdbcTemplate.execute("create table usuarios (email varchar(100) primary key, "
+                + "ultimo_login timestamp, tentativas_falhas int default 0 not null)");
+        for (int i = 0; i < USUARIOS; i++) {
+            jdbcTemplate.update("insert into usuarios (email, tentativas_falhas) values (?, 2)", email(i));
+        }
+    }
+
+    @AfterEach
+    void removerTabela() {
+        jdbcTemplate.execute("drop table usuarios");
+    }
+
+    @Test
+    void loginsConcorrentesViramPoucasInstrucoesEmLote() throws Exception {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(jdbcTemplate, new SyncTaskExecutor(), 20, 100_000);
+        int threads = 8;
+        int loginsPorThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < loginsPorThread; i++) {
+                    recorder.registrarLogin(email((thread * loginsPorThread + i) % USUARIOS));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(recorder.getEventCount()).isEqualTo((long) threads * loginsPorThread);
+        assertThat(recorder.getPendingCount()).isEqualTo(USUARIOS);
+
+        assertThat(recorder.flush()).isEqualTo(USUARIOS);
+        // 40.000 logins de 50 usuários: uma linha por usuário, em lotes de 20
+        assertThat(lotes.get()).isEqualTo(3);
+        assertThat(recorder.getPendingCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from usuarios where ultimo_login is not null and tentativas_falhas = 0", Integer.class))
+                .isEqualTo(USUARIOS);
+    }
+
+    @Test
+    void falhasSomamESucessoZeraContador() {
+        LoginActivityRecorder recorder = new LoginActivityRecorder(jdbcTemplate, new SyncTaskExecutor(), 500, 100_000);
+        recorder.registrarFalha(email(0));
+        recorder.registrarFalha(email(0));
+        recorder.registrarFalha(email(1));
+        recorder.registrarLogin(email(1));
+        recorder.registrarFalha(email(1));
+        recorder.flush();
+
+        assertThat(tentativas(email(0))).isEqualTo(4);
+        assertThat(tentativas(email(1))).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from usuarios where ultimo_login is not null", Integer.class)).isEqualTo(1);
+        assertThat(lotes.get()).isEqualTo(1);
+    }
+
+    private int tentativas(String email) {
+        return jdbcTemplate.queryForObject("select tentativas_falhas from usuarios where email = ?", Integer.class, email);
+    }
+
+    private static String email(int i) {
+        return "usuario" + i + "@teste.com";
+    }
+}
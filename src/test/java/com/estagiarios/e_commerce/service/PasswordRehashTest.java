@@ -0,0 +1,94 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.estagiarios.e_commerce.security.PasswordHashSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hash gravado antes do DelegatingPasswordEncoder (BCrypt sem prefixo, custo abaixo do
+ * alvo) é regravado no primeiro login bem-sucedido e passa a contar como atual no inventário.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PasswordRehashTest {
+
+    private static final String SENHA = "Senha@123";
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EmailMembershipFilter emailFilter;
+
+    @Autowired
+    private PasswordHashInventory inventory;
+
+    @Autowired
+    private PasswordHashSpec passwordHashTarget;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void loginRegravaHashLegadoUmaUnicaVez() {
+        String email = "rehash" + System.nanoTime() + "@teste.com";
+        Usuario usuario = usuarioRepository.save(new Usuario("Rehash Legado", email,
+                new BCryptPasswordEncoder(4).encode(SENHA)));
+        emailFilter.put(email);
+
+        inventory.refresh();
+        long legadosAntes = total(PasswordHashSpec.bcrypt(4), false);
+        long atuaisAntes = total(passwordHashTarget, true);
+        double rehashAntes = rehashes();
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, SENHA));
+
+        String hash = usuarioRepository.findById(usuario.getId()).orElseThrow().getSenha();
+        assertThat(hash).startsWith("{bcrypt}$2a$" + passwordHashTarget.cost() + "$");
+        assertThat(rehashes()).isEqualTo(rehashAntes + 1);
+
+        inventory.refresh();
+        assertThat(total(PasswordHashSpec.bcrypt(4), false)).isEqualTo(legadosAntes - 1);
+        assertThat(total(passwordHashTarget, true)).isEqualTo(atuaisAntes + 1);
+
+        // Com o hash já no alvo o login não grava nada
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, SENHA));
+        assertThat(usuarioRepository.findById(usuario.getId()).orElseThrow().getSenha()).isEqualTo(hash);
+        assertThat(rehashes()).isEqualTo(rehashAntes + 1);
+    }
+
+    @Test
+    void reconheceParametrosDosHashes() {
+        assertThat(PasswordHashSpec.of("$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy"))
+                .isEqualTo(PasswordHashSpec.bcrypt(10));
+        assertThat(PasswordHashSpec.of("{argon2}$argon2id$v=19$m=19456,t=3,p=1$c2FsdA$aGFzaA"))
+                .isEqualTo(PasswordHashSpec.argon2(3, 19456, 1));
+        assertThat(PasswordHashSpec.argon2(3, 19456, 1).satisfies(PasswordHashSpec.argon2(2, 19456, 1))).isTrue();
+        assertThat(PasswordHashSpec.bcrypt(12).satisfies(PasswordHashSpec.argon2(2, 19456, 1))).isFalse();
+        assertThat(PasswordHashSpec.of("texto-puro").algorithm()).isEqualTo(PasswordHashSpec.UNKNOWN);
+    }
+
+    private long total(PasswordHashSpec spec, boolean atual) {
+        return inventory.getDistribuicao().stream()
+                .filter(linha -> linha.spec().equals(spec) && linha.atual() == atual)
+                .mapToLong(PasswordHashInventory.Linha::total)
+                .sum();
+    }
+
+    private double rehashes() {
+        return meterRegistry.get("auth.password.rehash").tag("outcome", "upgraded").counter().count();
+    }
+}
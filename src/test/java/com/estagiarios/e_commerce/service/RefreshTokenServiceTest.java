@@ -0,0 +1,117 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.exception.RefreshTokenInvalidoException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rotação de refresh tokens: cada token vale uma vez, a reutilização revoga a família
+ * e, de duas rotações simultâneas do mesmo token, só uma é aceita.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /** Não há chave estrangeira para usuarios; um id por teste isola os tokens */
+    private long usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        usuarioId = System.nanoTime();
+    }
+
+    @Test
+    void rotacaoInvalidaOTokenAnterior() {
+        String original = refreshTokenService.emitir(usuarioId);
+
+        RefreshTokenService.Rotacao rotacao = refreshTokenService.rotacionar(original);
+
+        assertThat(rotacao.usuarioId()).isEqualTo(usuarioId);
+        assertThat(rotacao.refreshToken()).isNotEqualTo(original);
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(original))
+                .isInstanceOf(RefreshTokenInvalidoException.class);
+    }
+
+    @Test
+    void reutilizacaoRevogaAFamiliaInteira() {
+        String original = refreshTokenService.emitir(usuarioId);
+        String atual = refreshTokenService.rotacionar(original).refreshToken();
+        String outraSessao = refreshTokenService.emitir(usuarioId);
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(original))
+                .isInstanceOf(RefreshTokenInvalidoException.class)
+                .hasMessage("Refresh token reutilizado");
+
+        // O token emitido na rotação era da mesma família; o da outra sessão não
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(atual))
+                .isInstanceOf(RefreshTokenInvalidoException.class);
+        assertThat(refreshTokenService.rotacionar(outraSessao).usuarioId()).isEqualTo(usuarioId);
+    }
+
+    @Test
+    void tokenExpiradoEhRecusado() {
+        String token = refreshTokenService.emitir(usuarioId);
+        jdbcTemplate.update("update refresh_tokens set expira_em = ? where usuario_id = ?",
+                LocalDateTime.now().minusSeconds(1), usuarioId);
+
+        assertThatThrownBy(() -> refreshTokenService.rotacionar(token))
+                .isInstanceOf(RefreshTokenInvalidoException.class)
+                .hasMessage("Refresh token expirado");
+    }
+
+    @Test
+    void rotacoesSimultaneasDoMesmoTokenSoUmaVence() throws Exception {
+        String token = refreshTokenService.emitir(usuarioId);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<RefreshTokenService.Rotacao>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotacionar(token);
+                }));
+            }
+            start.countDown();
+
+            int aceitas = 0;
+            int recusadas = 0;
+            for (Future<RefreshTokenService.Rotacao> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    aceitas++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(RefreshTokenInvalidoException.class);
+                    recusadas++;
+                }
+            }
+            assertThat(aceitas).isEqualTo(1);
+            assertThat(recusadas).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.dto.TokenIntrospection;
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.estagiarios.e_commerce.security.IntrospectionSecretFilter;
+import com.estagiarios.e_commerce.security.JwtTokenProvider;
+import com.estagiarios.e_commerce.security.TokenDenylist;
+import com.estagiarios.e_commerce.security.VerifiedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Introspecção em lote: cada token recebe o mesmo veredito que teria no
+ * JwtAuthenticationFilter, na ordem do lote, inclusive quando o lote é dividido entre threads.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenIntrospectionServiceTest {
+
+    @Autowired
+    private TokenIntrospectionService introspectionService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loteGrandeMantemOrdemEOVereditoDeCadaToken() {
+        Usuario usuario = registrar();
+        String valido = tokenProvider.generateToken(usuarioService.loadUserById(usuario.getId()));
+        long expiraEm = tokenProvider.verifyToken(valido).expiresAt() / 1000;
+        String revogado = tokenProvider.generateToken(usuarioService.loadUserById(usuario.getId()));
+        VerifiedToken claims = tokenProvider.verifyToken(revogado);
+        denylist.revoke(claims.jtiHigh(), claims.jtiLow(), claims.expiresAt());
+
+        Usuario outro = registrar();
+        String obsoleto = tokenProvider.generateToken(usuarioService.loadUserById(outro.getId()));
+        usuarioService.atualizarRoles(outro.getId(), Set.of(Role.USER, Role.MODERATOR));
+
+        List<String> candidatos = List.of(valido, revogado, obsoleto, "nao.e.jwt", "");
+        List<String> lote = new ArrayList<>();
+        for (int i = 0; i < 3 * TokenIntrospectionService.TOKENS_POR_FAIXA; i++) {
+            lote.add(candidatos.get(i % candidatos.size()));
+        }
+
+        List<TokenIntrospection> resultados = introspectionService.introspectar(lote);
+
+        assertThat(resultados).hasSize(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            TokenIntrospection resultado = resultados.get(i);
+            if (i % candidatos.size() == 0) {
+                assertThat(resultado.isActive()).isTrue();
+                assertThat(resultado.getSub()).isEqualTo(usuario.getId().toString());
+                assertThat(resultado.getRoles()).containsExactly("ROLE_USER");
+                assertThat(resultado.getExp()).isEqualTo(expiraEm);
+            } else {
+                assertThat(resultado).isSameAs(TokenIntrospection.INATIVO);
+            }
+        }
+    }
+
+    @Test
+    void endpointExigeSegredoCompartilhado() throws Exception {
+        Usuario usuario = registrar();
+        String token = tokenProvider.generateToken(usuarioService.loadUserById(usuario.getId()));
+        String corpo = "{\"tokens\":[\"" + token + "\",\"x\"]}";
+
+        mockMvc.perform(post("/api/internal/introspect").contentType(MediaType.APPLICATION_JSON).content(corpo))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/internal/introspect").contentType(MediaType.APPLICATION_JSON).content(corpo)
+                        .header(IntrospectionSecretFilter.SECRET_HEADER, "segredo-de-teste"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultados[0].active").value(true))
+                .andExpect(jsonPath("$.resultados[0].sub").value(usuario.getId().toString()))
+                .andExpect(jsonPath("$.resultados[1].active").value(false))
+                .andExpect(jsonPath("$.resultados[1].sub").doesNotExist());
+
+        // O segredo é conferido antes de o corpo ser lido: sem ele, nem um corpo inválido chega a dar 400
+        mockMvc.perform(post("/api/internal/introspect").contentType(MediaType.APPLICATION_JSON).content("{\"tokens\":["))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void segredoEmBrancoContaComoNaoConfigurado() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/internal/introspect");
+        request.setServletPath("/api/internal/introspect");
+        request.addHeader(IntrospectionSecretFilter.SECRET_HEADER, "   ");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        new IntrospectionSecretFilter("   ").doFilter(request, response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    private Usuario registrar() {
+        return usuarioService.registrarUsuario(RegisterRequest.builder()
+                .name("Introspeccao")
+                .email("introspeccao" + System.nanoTime() + "@teste.com")
+                .password("Senha@123")
+                .build());
+    }
+}
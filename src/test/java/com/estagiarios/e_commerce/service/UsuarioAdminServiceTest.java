@@ -0,0 +1,101 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.PaginaUsuarios;
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.dto.UsuarioResumo;
+import com.estagiarios.e_commerce.entity.Role;
+import com.estagiarios.e_commerce.entity.Usuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listagem por keyset e exportação NDJSON: as páginas cobrem todos os usuários sem
+ * repetir nenhum e a exportação traz cada usuário uma vez, com todas as roles.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioAdminServiceTest {
+
+    private static final int USUARIOS = 7;
+
+    @Autowired
+    private UsuarioAdminService adminService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        long sufixo = System.nanoTime();
+        for (int i = 0; i < USUARIOS; i++) {
+            Usuario usuario = usuarioService.registrarUsuario(RegisterRequest.builder()
+                    .name("Listagem Admin")
+                    .email("listagem" + sufixo + "-" + i + "@teste.com")
+                    .password("Senha@123")
+                    .build());
+            if (i % 3 == 0) {
+                usuarioService.atualizarRoles(usuario.getId(), Set.of(Role.USER, Role.ADMIN));
+            }
+            ids.add(usuario.getId());
+        }
+    }
+
+    @Test
+    void paginasPorCursorCobremTodosOsUsuariosEmOrdem() {
+        List<Long> lidos = new ArrayList<>();
+        Long cursor = ids.get(0) - 1;
+        do {
+            PaginaUsuarios pagina = adminService.listar(cursor, null, 3);
+            assertThat(pagina.getItens()).hasSizeLessThanOrEqualTo(3);
+            pagina.getItens().forEach(resumo -> lidos.add(resumo.getId()));
+            cursor = pagina.getProximoCursor();
+        } while (cursor != null);
+
+        assertThat(lidos).isSorted().doesNotHaveDuplicates().containsSubsequence(ids);
+
+        PaginaUsuarios admins = adminService.listar(ids.get(0) - 1, Role.ADMIN, UsuarioAdminService.LIMITE_MAXIMO);
+        assertThat(admins.getItens()).allSatisfy(resumo -> assertThat(resumo.getRoles()).contains("ADMIN"));
+        assertThat(admins.getItens()).extracting(UsuarioResumo::getId)
+                .containsSubsequence(ids.get(0), ids.get(3), ids.get(6))
+                .doesNotContain(ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void exportacaoEscreveUmUsuarioPorLinhaComTodasAsRoles() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = adminService.exportar(out);
+
+        String[] linhas = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(linhas).hasSize((int) total);
+        List<UsuarioResumo> exportados = new ArrayList<>();
+        for (String linha : linhas) {
+            exportados.add(objectMapper.readValue(linha, UsuarioResumo.class));
+        }
+        Map<Long, UsuarioResumo> porId = exportados.stream()
+                .collect(Collectors.toMap(UsuarioResumo::getId, Function.identity()));
+
+        assertThat(porId).hasSize(exportados.size()).containsKeys(ids.toArray(Long[]::new));
+        assertThat(porId.get(ids.get(0)).getRoles()).containsExactlyInAnyOrder("USER", "ADMIN");
+        assertThat(porId.get(ids.get(1)).getRoles()).containsExactly("USER");
+    }
+}
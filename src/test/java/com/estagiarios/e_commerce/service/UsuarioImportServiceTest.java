@@ -0,0 +1,108 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.ImportacaoResultado;
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.estagiarios.e_commerce.dto.ImportacaoResultado.Status.CRIADO;
+import static com.estagiarios.e_commerce.dto.ImportacaoResultado.Status.DUPLICADO;
+import static com.estagiarios.e_commerce.dto.ImportacaoResultado.Status.INVALIDO;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Importação em massa: o lote é gravado de uma vez, emails repetidos no arquivo ou já
+ * cadastrados são recusados e, se o INSERT do lote falhar, cada linha é regravada sozinha.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioImportServiceTest {
+
+    private static final String SENHA = "Senha@123";
+
+    @Autowired
+    private UsuarioImportService importService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loteGravaNovosERecusaRepetidosEJaCadastrados() throws IOException {
+        long sufixo = System.nanoTime();
+        String ana = "ana" + sufixo + "@teste.com";
+        String bia = "bia" + sufixo + "@teste.com";
+        String cadastrado = "cadastrado" + sufixo + "@teste.com";
+        usuarioService.registrarUsuario(RegisterRequest.builder()
+                .name("Ja Cadastrado").email(cadastrado).password(SENHA).build());
+
+        List<ImportacaoResultado> resultados = importar(String.join("\n",
+                "name,email,password",
+                "Ana," + ana.toUpperCase() + "," + SENHA,
+                "Bia," + bia + "," + SENHA,
+                "Ana De Novo," + ana + "," + SENHA,
+                "Cadastrado," + cadastrado + "," + SENHA,
+                "Sem Senha," + "sem" + sufixo + "@teste.com,",
+                // Aceito pelo @Email, mas recusado no registro
+                "Sem Dominio,semdominio" + sufixo + "@localhost," + SENHA));
+
+        assertThat(resultados).extracting(ImportacaoResultado::getLinha, ImportacaoResultado::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, CRIADO),
+                        tuple(3L, CRIADO),
+                        tuple(4L, DUPLICADO),
+                        tuple(5L, DUPLICADO),
+                        tuple(6L, INVALIDO),
+                        tuple(7L, INVALIDO));
+        assertThat(usuarioRepository.findByEmail(ana)).isPresent();
+        assertThat(usuarioRepository.findByEmail(bia)).isPresent();
+    }
+
+    @Test
+    void falhaDoLoteRegravaLinhaALinha() throws IOException {
+        long sufixo = System.nanoTime();
+        String ana = "ana" + sufixo + "@teste.com";
+        String bia = "bia" + sufixo + "@teste.com";
+        // Gravado por fora do serviço: o filtro de emails não conhece, então o lote só
+        // descobre o duplicado na constraint única
+        String concorrente = "concorrente" + sufixo + "@teste.com";
+        jdbcTemplate.update("insert into usuarios (id, nome, email, senha) values (next value for usuarios_seq, ?, ?, ?)",
+                "Concorrente", concorrente, "x");
+
+        List<ImportacaoResultado> resultados = importar(String.join("\n",
+                "name,email,password",
+                "Ana," + ana + "," + SENHA,
+                "Concorrente," + concorrente + "," + SENHA,
+                "Bia," + bia + "," + SENHA));
+
+        // Na regravação os resultados saem na ordem do arquivo, com o duplicado no meio
+        assertThat(resultados).extracting(ImportacaoResultado::getEmail, ImportacaoResultado::getStatus)
+                .containsExactly(
+                        tuple(ana, CRIADO),
+                        tuple(concorrente, DUPLICADO),
+                        tuple(bia, CRIADO));
+        assertThat(usuarioRepository.findByEmail(ana)).isPresent();
+        assertThat(usuarioRepository.findByEmail(bia)).isPresent();
+    }
+
+    private List<ImportacaoResultado> importar(String conteudo) throws IOException {
+        List<ImportacaoResultado> resultados = new ArrayList<>();
+        importService.importar(new StringReader(conteudo), UsuarioImportService.Formato.CSV, resultados::add);
+        return resultados;
+    }
+}
@@ -0,0 +1,143 @@
+package com.estagiarios.e_commerce.service;
+
+import com.estagiarios.e_commerce.dto.RegisterRequest;
+import com.estagiarios.e_commerce.repository.UsuarioRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Registros simultâneos com o mesmo email: exatamente um deve ser criado, os demais
+ * recebem "Email já cadastrado", e nenhuma conexão fica presa durante o hashing.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioRegistrationConcurrencyTest {
+
+    private static final long HASH_MILLIS = 300;
+    private static final int CONCURRENT_REQUESTS = 16;
+    private static final ConcurrentLinkedQueue<Long> CONNECTION_USAGE_MILLIS = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    void registrosDuplicadosSimultaneosCriamUmUnicoUsuario() throws Exception {
+        CONNECTION_USAGE_MILLIS.clear();
+        RegisterRequest request = RegisterRequest.builder()
+                .name("Maria Silva")
+                .email("duplicado@teste.com")
+                .password("Senha@123")
+                .build();
+
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures.add(pool.submit((Callable<Object>) () -> {
+                start.await();
+                return usuarioService.registrarUsuario(request);
+            }));
+        }
+        start.countDown();
+
+        int criados = 0;
+        List<Throwable> falhas = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+                criados++;
+            } catch (ExecutionException e) {
+                falhas.add(e.getCause());
+            }
+        }
+        pool.shutdown();
+
+        assertThat(criados).isEqualTo(1);
+        assertThat(falhas).hasSize(CONCURRENT_REQUESTS - 1)
+                .allSatisfy(falha -> assertThat(falha)
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessage("Email já cadastrado no sistema"));
+        assertThat(usuarioRepository.findExistingEmails(List.of("duplicado@teste.com"))).hasSize(1);
+
+        // Com o hash dentro da transação cada registro seguraria a conexão por pelo menos
+        // HASH_MILLIS; fora dela, o tempo total emprestado fica abaixo de um único hash por registro
+        long totalUsage = CONNECTION_USAGE_MILLIS.stream().mapToLong(Long::longValue).sum();
+        assertThat(CONNECTION_USAGE_MILLIS).isNotEmpty();
+        assertThat(totalUsage).isLessThan(CONCURRENT_REQUESTS * HASH_MILLIS);
+    }
+
+    @TestConfiguration
+    static class SlowHashConfig {
+
+        /**
+         * Encoder com custo fixo e previsível para o teste
+         */
+        @Bean
+        @Primary
+        PasswordEncoder slowPasswordEncoder() {
+            BCryptPasswordEncoder delegate = new BCryptPasswordEncoder(4);
+            return new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    try {
+                        Thread.sleep(HASH_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return delegate.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    return delegate.matches(rawPassword, encodedPassword);
+                }
+            };
+        }
+
+        /**
+         * Registra quanto tempo cada conexão fica emprestada do pool Hikari
+         */
+        @Bean
+        static BeanPostProcessor connectionUsageRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        dataSource.setMetricsTrackerFactory((poolName, poolStats) -> new IMetricsTracker() {
+                            @Override
+                            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                                CONNECTION_USAGE_MILLIS.add(elapsedBorrowedMillis);
+                            }
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
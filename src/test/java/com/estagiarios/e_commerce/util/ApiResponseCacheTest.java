@@ -0,0 +1,36 @@
+package com.estagiarios.e_commerce.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void corpoTemOsCamposDoApiResponseEEReaproveitado() throws Exception {
+        ApiResponseCache cache = new ApiResponseCache(objectMapper);
+
+        byte[] primeiro = cache.json(false, "Email ou senha inválidos");
+        JsonNode json = objectMapper.readTree(primeiro);
+
+        assertThat(json.get("sucesso").asBoolean()).isFalse();
+        assertThat(json.get("mensage").asText()).isEqualTo("Email ou senha inválidos");
+        assertThat(json.get("timestamp").asText()).isNotBlank();
+        assertThat(json.has("data")).isTrue();
+
+        byte[] a = cache.json(false, "Email ou senha inválidos");
+        byte[] b = cache.json(false, "Email ou senha inválidos");
+        if (a != b) {
+            // O segundo virou entre as duas chamadas
+            a = cache.json(false, "Email ou senha inválidos");
+            b = cache.json(false, "Email ou senha inválidos");
+        }
+        assertThat(b).isSameAs(a);
+        assertThat(cache.json(true, "Email ou senha inválidos")).isNotSameAs(primeiro);
+    }
+}
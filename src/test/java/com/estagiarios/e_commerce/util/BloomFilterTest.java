@@ -0,0 +1,30 @@
+package com.estagiarios.e_commerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void naoTemFalsoNegativoEMantemTaxaDeFalsoPositivo() {
+        int elementos = 100_000;
+        BloomFilter filter = BloomFilter.create(elementos, 0.01);
+        for (int i = 0; i < elementos; i++) {
+            filter.put("usuario" + i + "@teste.com");
+        }
+
+        for (int i = 0; i < elementos; i++) {
+            assertThat(filter.mightContain("usuario" + i + "@teste.com")).isTrue();
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < elementos; i++) {
+            if (filter.mightContain("inexistente" + i + "@teste.com")) {
+                falsosPositivos++;
+            }
+        }
+        assertThat((double) falsosPositivos / elementos).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.011);
+    }
+}
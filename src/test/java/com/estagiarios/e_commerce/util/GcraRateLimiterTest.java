@@ -0,0 +1,62 @@
+package com.estagiarios.e_commerce.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GcraRateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void permiteRajadaEDepoisUmaTentativaPorIntervalo() {
+        GcraRateLimiter limiter = new GcraRateLimiter(5, 60, 100, 16);
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ana@teste.com", now)).isZero();
+        }
+        long wait = limiter.tryAcquire("ana@teste.com", now);
+        assertThat(wait).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("outro@teste.com", now)).isZero();
+
+        assertThat(limiter.tryAcquire("ana@teste.com", now + wait)).isZero();
+        assertThat(limiter.tryAcquire("ana@teste.com", now + wait)).isPositive();
+    }
+
+    @Test
+    void chavesAlemDoLimiteCompartilhamFaixas() {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, 60, 2, 1);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 0);
+
+        assertThat(limiter.tryAcquire("c", 0)).isZero();
+        assertThat(limiter.tryAcquire("d", 0)).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.getOverflowAcquireCount()).isEqualTo(2);
+    }
+
+    @Test
+    void removeChavesOciosas() {
+        GcraRateLimiter limiter = new GcraRateLimiter(3, 60, 100, 16);
+        limiter.tryAcquire("a", 0);
+        limiter.tryAcquire("b", 10 * SECOND);
+
+        assertThat(limiter.evictIdle(5 * SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void instantesSaoComparadosPorDiferencaQuandoNanoTimeDaAVolta() {
+        GcraRateLimiter limiter = new GcraRateLimiter(1, 60, 100, 1);
+        long antes = Long.MAX_VALUE - SECOND / 2;
+        long depois = antes + 2 * SECOND;
+
+        assertThat(limiter.tryAcquire("a", antes)).isZero();
+        assertThat(limiter.tryAcquire("a", antes)).isPositive();
+        assertThat(limiter.tryAcquire("a", depois)).isZero();
+
+        assertThat(limiter.evictIdle(depois + 2 * SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+    }
+}